@@ -4,9 +4,11 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = { "com.board.thymeleaf" })
 @EnableAutoConfiguration(exclude = { DataSourceAutoConfiguration.class })
+@EnableScheduling
 public class ThymeleafApplication {
 
 	public static void main(String[] args) {
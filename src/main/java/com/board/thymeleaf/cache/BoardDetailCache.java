@@ -0,0 +1,115 @@
+package com.board.thymeleaf.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.board.thymeleaf.domain.BoardDetail;
+import com.board.thymeleaf.event.BoardChangedEvent;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * 게시글 상세(게시글 + 첨부파일) 캐시
+ *
+ * 크기 제한(LRU에 가까운 제거)과 TTL을 두고 seq 단위로 보관하며, 없는 글도 빈 값으로 보관합니다.
+ * 같은 seq를 동시에 조회하면 Cache.get(key, loader)가 한 스레드만 DB를 조회하고 나머지는 결과를 기다립니다.
+ * 조회 도중 무효화가 일어나면 방금 조회한 값이 이전 데이터일 수 있으므로 다시 제거합니다.
+ * 조회수는 반영될 때마다 보관 중인 값에 더하므로, 인기 글이 조회수 반영 주기마다 제거되지 않습니다.
+ */
+@Component
+public class BoardDetailCache {
+
+  private final Cache<Integer, Optional<BoardDetail>> cache;
+
+  private final AtomicLong generation = new AtomicLong();
+  private final AtomicLong loadCount = new AtomicLong();
+  private final AtomicLong invalidationCount = new AtomicLong();
+
+  public BoardDetailCache(
+      @Value("${board.detail.cache.maximum-size:500}") long maximumSize,
+      @Value("${board.detail.cache.expire-seconds:300}") long expireSeconds) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+        .build();
+  }
+
+  /**
+   * 캐시에서 조회, 없으면 loader로 조회 후 보관
+   */
+  public BoardDetail get(Integer seq, Callable<BoardDetail> loader) throws Exception {
+    long loadGeneration = generation.get();
+    AtomicBoolean loaded = new AtomicBoolean();
+    Optional<BoardDetail> board;
+    try {
+      board = cache.get(seq, () -> {
+        loaded.set(true);
+        loadCount.incrementAndGet();
+        return Optional.ofNullable(loader.call());
+      });
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+    }
+
+    if (loaded.get() && generation.get() != loadGeneration) {
+      cache.invalidate(seq);
+    }
+    return board.orElse(null);
+  }
+
+  /**
+   * 변경된 글 무효화 (커밋 후)
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBoardChanged(BoardChangedEvent event) {
+    if (event.isAll()) {
+      return;
+    }
+    invalidate(event.getSeqs());
+  }
+
+  /**
+   * 지정한 글 무효화
+   */
+  public void invalidate(Collection<Integer> seqs) {
+    generation.incrementAndGet();
+    invalidationCount.addAndGet(seqs.size());
+    cache.invalidateAll(seqs);
+  }
+
+  /**
+   * DB에 반영된 조회수를 보관 중인 글에 더함 (조회 중이던 글은 반영 전 값일 수 있으므로 다시 제거)
+   */
+  public void addHits(Map<Integer, Long> counts) {
+    generation.incrementAndGet();
+    counts.forEach((seq, count) -> cache.asMap().computeIfPresent(seq, (key, board) -> {
+      board.ifPresent(detail -> detail.setHits(detail.getHits() + count));
+      return board;
+    }));
+  }
+
+  /**
+   * 캐시 통계 (load는 실제 DB 조회 횟수)
+   */
+  public Map<String, Object> getStats() {
+    return ImmutableMap.<String, Object>builder()
+        .put("size", cache.size())
+        .put("hitCount", cache.stats().hitCount())
+        .put("missCount", cache.stats().missCount())
+        .put("loadCount", loadCount.get())
+        .put("evictionCount", cache.stats().evictionCount())
+        .put("invalidationCount", invalidationCount.get())
+        .build();
+  }
+}
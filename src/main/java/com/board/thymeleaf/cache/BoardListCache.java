@@ -0,0 +1,111 @@
+package com.board.thymeleaf.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.board.thymeleaf.domain.BaseSO;
+import com.board.thymeleaf.domain.BoardSummary;
+import com.board.thymeleaf.domain.Pager;
+import com.board.thymeleaf.event.BoardChangedEvent;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시판 목록 앞 페이지 캐시
+ *
+ * 요청이 몰리는 앞쪽 페이지(OFFSET 방식, 검색 제외, maxPage 이하)의 Pager를 정규화된 검색 조건 단위로 보관합니다.
+ * 게시판 변경 이벤트가 커밋되면 전체를 무효화하며,
+ * 조회 도중 무효화가 일어난 경우에는 이전 데이터로 다시 채워지지 않도록 세대(generation)를 비교합니다.
+ */
+@Slf4j
+@Component
+public class BoardListCache {
+
+  private final Cache<List<Object>, Pager<BoardSummary>> cache;
+  private final int maxPage;
+
+  private final AtomicLong generation = new AtomicLong();
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong invalidationCount = new AtomicLong();
+
+  public BoardListCache(
+      @Value("${board.list.cache.max-page:3}") int maxPage,
+      @Value("${board.list.cache.maximum-size:100}") long maximumSize,
+      @Value("${board.list.cache.expire-seconds:60}") long expireSeconds) {
+    this.maxPage = maxPage;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+        .build();
+  }
+
+  /**
+   * 캐시 대상이면 캐시에서, 아니면 loader로 조회
+   */
+  public Pager<BoardSummary> get(BaseSO so, Callable<Pager<BoardSummary>> loader) throws Exception {
+    if (!isCacheable(so)) {
+      return loader.call();
+    }
+
+    List<Object> key = so.getListCacheKey();
+    Pager<BoardSummary> cached = cache.getIfPresent(key);
+    if (cached != null) {
+      hitCount.incrementAndGet();
+      return cached;
+    }
+    missCount.incrementAndGet();
+
+    long loadGeneration = generation.get();
+    Pager<BoardSummary> loaded = loader.call();
+    if (generation.get() == loadGeneration) {
+      cache.put(key, loaded);
+      // put 직전에 무효화된 경우 방금 넣은 항목 제거
+      if (generation.get() != loadGeneration) {
+        cache.invalidate(key);
+      }
+    }
+    return loaded;
+  }
+
+  /**
+   * 게시판 변경 커밋 후 전체 무효화 (트랜잭션 밖에서 발행된 경우 즉시)
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBoardChanged(BoardChangedEvent event) {
+    invalidateAll();
+  }
+
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    invalidationCount.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  /**
+   * 캐시 통계 (hit/miss는 캐시 대상 요청 기준, eviction은 크기/TTL 만료 기준)
+   */
+  public Map<String, Object> getStats() {
+    return ImmutableMap.<String, Object>builder()
+        .put("size", cache.size())
+        .put("hitCount", hitCount.get())
+        .put("missCount", missCount.get())
+        .put("evictionCount", cache.stats().evictionCount())
+        .put("invalidationCount", invalidationCount.get())
+        .build();
+  }
+
+  private boolean isCacheable(BaseSO so) {
+    return !so.isKeyset() && !so.hasQuery() && so.getPage() <= maxPage;
+  }
+}
@@ -0,0 +1,52 @@
+package com.board.thymeleaf.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.board.thymeleaf.event.BoardChangedEvent;
+
+/**
+ * 게시판 버전 관리 (ETag 생성용)
+ *
+ * 변경이 커밋될 때마다 전역 버전을 증가시키고, 변경된 글에는 그 시점의 전역 버전을 기록합니다.
+ * 기동 시각(epoch)을 함께 사용하므로 재기동 후에는 이전 ETag가 모두 무효가 됩니다.
+ * 게시판 전체 변경이나 여러 글이 한 번에 바뀐 경우(일괄 등록)에는 글별 버전을 비우고
+ * 기준 버전(floor)을 올려 모든 글의 ETag를 바꿉니다.
+ */
+@Component
+public class BoardVersionTracker {
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+  private final AtomicLong version = new AtomicLong();
+  private final ConcurrentMap<Integer, Long> postVersions = new ConcurrentHashMap<>();
+  private volatile long floorVersion;
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public synchronized void onBoardChanged(BoardChangedEvent event) {
+    long changed = version.incrementAndGet();
+    if (event.getSeqs().size() == 1) {
+      postVersions.put(event.getSeqs().get(0), changed);
+    } else {
+      floorVersion = changed;
+      postVersions.clear();
+    }
+  }
+
+  /**
+   * 목록 ETag (게시판 전체 버전)
+   */
+  public String getListETag() {
+    return String.format("\"list-%s-%d\"", epoch, version.get());
+  }
+
+  /**
+   * 게시글 ETag (글별 버전)
+   */
+  public String getPostETag(Integer seq) {
+    return String.format("\"post-%d-%s-%d\"", seq, epoch, postVersions.getOrDefault(seq, floorVersion));
+  }
+}
@@ -2,6 +2,7 @@ package com.board.thymeleaf.config;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletRequest;
@@ -27,6 +28,7 @@ import lombok.extern.slf4j.Slf4j;
  * 향후 @ModelAttribute + @Valid 또는 @RequestBody + @Valid 사용 시 활성화됩니다.
  * 
  * - 사용자 에러 (IllegalArgumentException, IllegalStateException): JSON/HTML 응답
+ * - 없는 대상 (NoSuchElementException): 404 JSON/HTML 응답
  * - DB 제약 조건 위반 (DataIntegrityViolationException): JSON/HTML 응답
  * - 서버 에러 (나머지): 에러 페이지 HTML
  */
@@ -138,6 +140,35 @@ public class GlobalExceptionHandler {
     }
   }
 
+  /**
+   * 없는 대상 처리 - NoSuchElementException
+   * 요청 타입에 따라 JSON 또는 HTML(404) 응답 반환
+   */
+  @ExceptionHandler(NoSuchElementException.class)
+  public Object handleNotFound(NoSuchElementException e, HttpServletRequest request, Model model) {
+    log.warn("대상 없음: {}", e.getMessage());
+    
+    // Accept 헤더 확인하여 JSON 요청인지 판단
+    String acceptHeader = request.getHeader("Accept");
+    boolean isJsonRequest = acceptHeader != null && acceptHeader.contains("application/json");
+    
+    if (isJsonRequest) {
+      Map<String, Object> errorResponse = new HashMap<>();
+      errorResponse.put("success", false);
+      errorResponse.put("status", HttpStatus.NOT_FOUND.value());
+      errorResponse.put("error", "요청한 대상을 찾을 수 없습니다.");
+      errorResponse.put("message", e.getMessage());
+      errorResponse.put("userError", true);
+      
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    } else {
+      ModelAndView mav = new ModelAndView("error/404");
+      mav.setStatus(HttpStatus.NOT_FOUND);
+      
+      return mav;
+    }
+  }
+
   /**
    * RuntimeException 처리
    * 요청 타입에 따라 JSON 또는 HTML 응답 반환
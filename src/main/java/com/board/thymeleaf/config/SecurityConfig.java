@@ -82,6 +82,10 @@ public class SecurityConfig {
                       .antMatchers("/error/**").permitAll()
                       // 게시판 관련 페이지는 관리자 권한 필요
                       .antMatchers("/board/**").hasRole("ADMIN")
+                      // 전체 내보내기는 관리자 권한 필요
+                      .antMatchers("/api/board/export").hasRole("ADMIN")
+                      // 캐시 통계는 관리자 권한 필요
+                      .antMatchers("/api/board/cache/stats").hasRole("ADMIN")
                       // 나머지 모든 요청은 인증 필요
                       .anyRequest().authenticated())
 
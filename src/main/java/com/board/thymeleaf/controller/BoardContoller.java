@@ -1,28 +1,46 @@
 package com.board.thymeleaf.controller;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.board.thymeleaf.cache.BoardVersionTracker;
 import com.board.thymeleaf.domain.BaseSO;
 import com.board.thymeleaf.domain.Board;
+import com.board.thymeleaf.domain.BoardDetail;
 import com.board.thymeleaf.domain.BoardFile;
-import com.board.thymeleaf.domain.PageBoard;
+import com.board.thymeleaf.domain.BoardFileThumbnailType;
+import com.board.thymeleaf.domain.BoardImportResult;
+import com.board.thymeleaf.domain.BoardSummary;
 import com.board.thymeleaf.domain.Pager;
 import com.board.thymeleaf.domain.TreeNode;
+import com.board.thymeleaf.service.ifc.BoardImportService;
 import com.board.thymeleaf.service.ifc.BoardService;
 import com.board.thymeleaf.service.ifc.OrganizationService;
+import com.board.thymeleaf.storage.BoardFileDownloader;
+import com.board.thymeleaf.storage.BoardFileThumbnailer;
+import com.board.thymeleaf.storage.ResumableUploadStore;
+import com.board.thymeleaf.util.ConditionalRequestUtil;
 
 import lombok.RequiredArgsConstructor;
 
@@ -41,17 +59,27 @@ public class BoardContoller {
   private static final String MODEL_BOARD = "board";
   private static final String MODEL_REPLY_BOARD = "replyboard";
   private static final String MODEL_FILE_LIST = "fileList";
+  private static final String MODEL_HITS = "hits";
   private static final String MODEL_PAGE = "page";
   private static final String MODEL_VO = "vo";
 
   private final BoardService boardService;
+  private final BoardImportService boardImportService;
   private final OrganizationService organizationService;
+  private final BoardVersionTracker boardVersionTracker;
+  private final BoardFileDownloader boardFileDownloader;
+  private final BoardFileThumbnailer boardFileThumbnailer;
+  private final ResumableUploadStore resumableUploadStore;
 
   @GetMapping("/list")
-  public String getBoardList(@RequestParam(required = false) Map<String, Object> map, Model model) throws Exception {
+  public String getBoardList(@RequestParam(required = false) Map<String, Object> map, Model model,
+      ServletWebRequest request) throws Exception {
     BaseSO so = new BaseSO(map);
-    List<PageBoard> list = boardService.getBoardList(so);
-    Pager<PageBoard> page = Pager.formList(list);
+    // 검색 결과는 색인이 커밋 후 비동기로 갱신되므로 버전 비교 대상에서 제외
+    if (!so.hasQuery() && ConditionalRequestUtil.checkNotModified(request, boardVersionTracker.getListETag())) {
+      return null;
+    }
+    Pager<BoardSummary> page = boardService.getBoardList(so);
 
     model.addAttribute(MODEL_VO, map);
     model.addAttribute(MODEL_PAGE, page);
@@ -66,24 +94,100 @@ public class BoardContoller {
 
   @GetMapping("/edit")
   public String getBoardEdit(@RequestParam Integer seq, Model model) throws Exception {
-    Board board = boardService.getBoardView(seq);
-    List<BoardFile> fileList = boardService.getBoardFileList(seq);
+    BoardDetail board = boardService.getBoardDetail(seq);
     
     model.addAttribute(MODEL_BOARD, board);
-    model.addAttribute(MODEL_FILE_LIST, fileList);
+    model.addAttribute(MODEL_FILE_LIST, getFileList(board));
     return VIEW_BOARD_WRITE;
   }
 
   @GetMapping("/view")
-  public String getBoardView(@RequestParam Integer seq, Model model) throws Exception {
-    Board board = boardService.getBoardView(seq);
-    List<BoardFile> fileList = boardService.getBoardFileList(seq);
+  public String getBoardView(@RequestParam Integer seq, Model model, ServletWebRequest request) throws Exception {
+    // 있는 글만 조회로 집계하며 304 응답도 포함 (화면의 조회수는 마지막으로 받은 화면 기준)
+    BoardDetail board = boardService.getBoardDetail(seq);
+    if (board != null) {
+      boardService.increaseViewCount(seq);
+    }
+    if (ConditionalRequestUtil.checkNotModified(request, boardVersionTracker.getPostETag(seq))) {
+      return null;
+    }
     
     model.addAttribute(MODEL_BOARD, board);
-    model.addAttribute(MODEL_FILE_LIST, fileList);
+    model.addAttribute(MODEL_FILE_LIST, getFileList(board));
+    model.addAttribute(MODEL_HITS, board == null ? 0 : boardService.getViewCount(board));
     return VIEW_BOARD_VIEW;
   }
 
+  /**
+   * 첨부파일 다운로드 (Range 요청 시 해당 구간만 전송)
+   */
+  @GetMapping("/file/download/{fileSeq}")
+  public void downloadFile(@PathVariable Integer fileSeq, HttpServletRequest request, HttpServletResponse response) throws Exception {
+    boardFileDownloader.download(boardService.getBoardFile(fileSeq), request, response);
+  }
+
+  /**
+   * 이미지 첨부파일 축소본 (type: THUMB, PREVIEW)
+   */
+  @GetMapping("/file/thumbnail/{fileSeq}")
+  public void getThumbnail(@PathVariable Integer fileSeq,
+      @RequestParam(defaultValue = "THUMB") BoardFileThumbnailType type,
+      HttpServletRequest request, HttpServletResponse response) throws Exception {
+    boardFileThumbnailer.send(boardService.getBoardFile(fileSeq), type, request, response);
+  }
+
+  /**
+   * 분할 업로드 시작 (반환된 uploadId로 chunk를 보내고, 게시글 저장 시 uploadIds로 전달)
+   */
+  @PostMapping("/file/upload")
+  @ResponseBody
+  public Map<String, Object> initUpload(@RequestParam String fileName, @RequestParam long fileSize) throws Exception {
+    Map<String, Object> result = new HashMap<>();
+    result.put("success", true);
+    result.put("uploadId", resumableUploadStore.init(fileName, fileSize));
+    result.put("offset", 0L);
+    result.put("chunkSize", resumableUploadStore.getChunkSize());
+    return result;
+  }
+
+  /**
+   * 분할 업로드 진행 상태 (이어 보낼 offset)
+   */
+  @GetMapping("/file/upload/{uploadId}")
+  @ResponseBody
+  public Map<String, Object> getUploadOffset(@PathVariable String uploadId) throws Exception {
+    Map<String, Object> result = new HashMap<>();
+    result.put("success", true);
+    result.put("offset", resumableUploadStore.getOffset(uploadId));
+    return result;
+  }
+
+  /**
+   * chunk 전송 (요청 본문을 Upload-Offset 위치부터 기록)
+   */
+  @PatchMapping("/file/upload/{uploadId}")
+  @ResponseBody
+  public Map<String, Object> writeUploadChunk(@PathVariable String uploadId,
+      @RequestHeader("Upload-Offset") long offset, HttpServletRequest request) throws Exception {
+    Map<String, Object> result = new HashMap<>();
+    result.put("success", true);
+    result.put("offset", resumableUploadStore.write(uploadId, offset, request.getInputStream()));
+    return result;
+  }
+
+  /**
+   * 분할 업로드 취소
+   */
+  @DeleteMapping("/file/upload/{uploadId}")
+  @ResponseBody
+  public Map<String, Object> abortUpload(@PathVariable String uploadId) throws Exception {
+    resumableUploadStore.abort(uploadId);
+
+    Map<String, Object> result = new HashMap<>();
+    result.put("success", true);
+    return result;
+  }
+
   @PostMapping("/insert")
   @ResponseBody
   public Map<String, Object> insertBoard(
@@ -114,6 +218,21 @@ public class BoardContoller {
     return result;
   }
 
+  /**
+   * 게시글 일괄 등록 (요청 본문: JSON Lines)
+   */
+  @PostMapping("/import")
+  @ResponseBody
+  public Map<String, Object> importBoard(HttpServletRequest request) throws Exception {
+    BoardImportResult importResult = boardImportService.importBoard(request.getInputStream());
+
+    Map<String, Object> result = new HashMap<>();
+    result.put("success", true);
+    result.put("result", importResult);
+    result.put("message", String.format("게시글 %d건이 등록되었습니다.", importResult.getPostCount()));
+    return result;
+  }
+
   @GetMapping("/reply")
   public String getBoardReply(@RequestParam Integer seq, Model model) throws Exception {
     Board board = boardService.getBoardView(seq);
@@ -124,15 +243,14 @@ public class BoardContoller {
 
   @GetMapping("/reply/edit")
   public String getBoardReplyEdit(@RequestParam Integer seq, Model model) throws Exception {
-    Board replyBoard = boardService.getBoardView(seq);
-    List<BoardFile> fileList = boardService.getBoardFileList(seq);
+    BoardDetail replyBoard = boardService.getBoardDetail(seq);
     
     // 답글의 부모 게시글 찾기 (group_id가 같고 depth가 0인 게시글)
     Board parentBoard = boardService.getParentBoard(replyBoard.getGroupId());
     
     model.addAttribute(MODEL_BOARD, parentBoard);
     model.addAttribute(MODEL_REPLY_BOARD, replyBoard);
-    model.addAttribute(MODEL_FILE_LIST, fileList);
+    model.addAttribute(MODEL_FILE_LIST, getFileList(replyBoard));
     return VIEW_BOARD_REPLY;
   }
 
@@ -213,6 +331,13 @@ public class BoardContoller {
     return result;
   }
 
+  /**
+   * 첨부파일 목록 (삭제되었거나 없는 글이면 빈 목록)
+   */
+  private List<BoardFile> getFileList(BoardDetail board) {
+    return board == null ? Collections.emptyList() : board.getFiles();
+  }
+
   /**
    * 답글 게시글 맵 처리 (display 기본값 설정)
    */
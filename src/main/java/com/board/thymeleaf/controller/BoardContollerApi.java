@@ -1,17 +1,32 @@
 package com.board.thymeleaf.controller;
 
-import java.util.List;
+import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.Map;
 
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import com.board.thymeleaf.cache.BoardDetailCache;
+import com.board.thymeleaf.cache.BoardListCache;
+import com.board.thymeleaf.cache.BoardVersionTracker;
+import com.board.thymeleaf.counter.BoardViewCounter;
 import com.board.thymeleaf.domain.BaseSO;
-import com.board.thymeleaf.domain.PageBoard;
+import com.board.thymeleaf.domain.BoardDetail;
+import com.board.thymeleaf.domain.BoardSummary;
 import com.board.thymeleaf.domain.Pager;
+import com.board.thymeleaf.export.BoardExportFormat;
+import com.board.thymeleaf.search.BoardSearchIndex;
 import com.board.thymeleaf.service.ifc.BoardService;
+import com.board.thymeleaf.util.ConditionalRequestUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 
 import lombok.RequiredArgsConstructor;
@@ -22,12 +37,21 @@ import lombok.RequiredArgsConstructor;
 public class BoardContollerApi {
 
 	private final BoardService boardService;
+	private final BoardListCache boardListCache;
+	private final BoardDetailCache boardDetailCache;
+	private final BoardVersionTracker boardVersionTracker;
+	private final BoardViewCounter boardViewCounter;
+	private final BoardSearchIndex boardSearchIndex;
+	private final ObjectMapper objectMapper;
 
   @GetMapping("/list")
-  public Map<?,?> getBoardList(@RequestParam(required = false) Map<String,Object> map) throws Exception {
+  public Map<?,?> getBoardList(@RequestParam(required = false) Map<String,Object> map, ServletWebRequest request) throws Exception {
     BaseSO so = new BaseSO(map);
-		List<PageBoard> list = boardService.getBoardList(so);
-    Pager<PageBoard> page =  Pager.formList(list);
+    // 검색 결과는 색인이 커밋 후 비동기로 갱신되므로 버전 비교 대상에서 제외
+    if (!so.hasQuery() && ConditionalRequestUtil.checkNotModified(request, boardVersionTracker.getListETag())) {
+      return null;
+    }
+    Pager<BoardSummary> page = boardService.getBoardList(so);
 
     return ImmutableMap.<String, Object>builder()
     .put("page",page)
@@ -35,4 +59,58 @@ public class BoardContollerApi {
 
   }
 
+  /**
+   * 게시글 상세 조회 (조회수 증가)
+   */
+  @GetMapping("/view/{seq}")
+  public Map<?,?> getBoardView(@PathVariable Integer seq) throws Exception {
+    BoardDetail board = boardService.getBoardDetail(seq);
+    if (board == null) {
+      throw new IllegalArgumentException("게시글이 존재하지 않습니다: " + seq);
+    }
+    boardService.increaseViewCount(seq);
+
+    return ImmutableMap.<String, Object>builder()
+    .put("board", board)
+    .put("hits", boardService.getViewCount(board))
+    .build();
+  }
+
+  /**
+   * 글 묶음 전체를 답글 트리로 조회
+   */
+  @GetMapping("/thread/{groupId}")
+  public Map<?,?> getBoardThread(@PathVariable Integer groupId) throws Exception {
+    return ImmutableMap.<String, Object>builder()
+    .put("thread", boardService.getBoardThread(groupId))
+    .build();
+  }
+
+  /**
+   * 전체 게시글 내보내기 (format: jsonl | csv, 관리자 전용)
+   */
+  @GetMapping("/export")
+  public void exportBoard(
+      @RequestParam(defaultValue = "jsonl") String format,
+      @RequestParam(defaultValue = "false") boolean includeDeleted,
+      HttpServletResponse response) throws Exception {
+    BoardExportFormat exportFormat = BoardExportFormat.of(format)
+        .orElseThrow(() -> new IllegalArgumentException("지원하지 않는 내보내기 형식입니다: " + format));
+    String fileName = String.format("board-%s.%s", new SimpleDateFormat("yyyyMMddHHmmss").format(new Date()), exportFormat.getExtension());
+
+    response.setContentType(exportFormat.getContentType());
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+    boardService.exportBoard(exportFormat.createWriter(objectMapper, response.getOutputStream()), includeDeleted);
+  }
+
+  @GetMapping("/cache/stats")
+  public Map<?,?> getCacheStats() {
+    return ImmutableMap.<String, Object>builder()
+    .put("list", boardListCache.getStats())
+    .put("detail", boardDetailCache.getStats())
+    .put("search", boardSearchIndex.getStats())
+    .put("viewCount", boardViewCounter.getStats())
+    .build();
+  }
+
 }
@@ -0,0 +1,146 @@
+package com.board.thymeleaf.counter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.board.thymeleaf.cache.BoardDetailCache;
+import com.board.thymeleaf.repository.BoardRepo;
+import com.google.common.collect.ImmutableMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시글 조회수 (write-behind)
+ *
+ * 조회할 때마다 글별 LongAdder만 증가시키고, flushInterval마다 또는 조회가 flushThreshold건 쌓이면
+ * 미반영분을 BATCH 세션의 UPDATE 한 번(트랜잭션 하나)으로 반영하므로 인기 글의 행 잠금에 요청이 줄서지 않습니다.
+ * 반영한 조회수는 상세 캐시에 보관 중인 값에 더하므로 캐시를 비우지 않습니다.
+ * 반영한 만큼만 차감하므로 반영 중 들어온 조회도 다음 반영에 포함되며, 반영에 실패하면 그대로 남아 다음에 재시도합니다.
+ * 한 주기 동안 조회가 없던 글의 카운터는 정리하며, 이때 정리와 동시에 들어온 조회 한 건은 누락될 수 있습니다.
+ * 종료 시 남은 조회수를 모두 반영합니다.
+ */
+@Slf4j
+@Component
+public class BoardViewCounter {
+
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+  private final SqlSessionTemplate batchSqlSession;
+  private final TransactionTemplate transactionTemplate;
+  private final BoardDetailCache boardDetailCache;
+  private final int flushThreshold;
+
+  private final ConcurrentMap<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+  private final AtomicLong pendingViews = new AtomicLong();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "board-view-flush"));
+
+  private final AtomicLong flushCount = new AtomicLong();
+  private final AtomicLong flushedViews = new AtomicLong();
+
+  public BoardViewCounter(
+      @Qualifier("boardSqlSessionFactory") SqlSessionFactory sqlSessionFactory,
+      @Qualifier("boardTxManager") PlatformTransactionManager boardTxManager,
+      BoardDetailCache boardDetailCache,
+      @Value("${board.view-count.flush-threshold:1000}") int flushThreshold) {
+    this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    this.transactionTemplate = new TransactionTemplate(boardTxManager);
+    this.boardDetailCache = boardDetailCache;
+    this.flushThreshold = flushThreshold;
+  }
+
+  /**
+   * 조회수 증가 (flushThreshold건마다 반영 요청)
+   */
+  public void increment(Integer seq) {
+    pending.computeIfAbsent(seq, key -> new LongAdder()).increment();
+    if (pendingViews.incrementAndGet() == flushThreshold) {
+      flushExecutor.execute(this::flush);
+    }
+  }
+
+  /**
+   * DB에 아직 반영되지 않은 조회수
+   */
+  public long getPending(Integer seq) {
+    LongAdder adder = pending.get(seq);
+    return adder == null ? 0 : adder.sum();
+  }
+
+  /**
+   * 미반영 조회수를 DB에 반영
+   */
+  @Scheduled(fixedDelayString = "${board.view-count.flush-interval:5000}")
+  public void flush() {
+    flushLock.lock();
+    try {
+      pendingViews.set(0);
+      Map<Integer, Long> counts = new LinkedHashMap<>();
+      pending.forEach((seq, adder) -> {
+        long count = adder.sum();
+        if (count > 0) {
+          counts.put(seq, count);
+        } else {
+          pending.remove(seq, adder);
+        }
+      });
+      if (counts.isEmpty()) {
+        return;
+      }
+
+      transactionTemplate.executeWithoutResult(status -> {
+        BoardRepo boardRepo = batchSqlSession.getMapper(BoardRepo.class);
+        counts.forEach(boardRepo::increaseHits);
+      });
+
+      boardDetailCache.addHits(counts);
+      counts.forEach((seq, count) -> pending.get(seq).add(-count));
+      flushCount.incrementAndGet();
+      flushedViews.addAndGet(counts.values().stream().mapToLong(Long::longValue).sum());
+    } catch (Exception e) {
+      log.error("조회수 반영 실패 (다음 반영 시 재시도)", e);
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  public Map<String, Object> getStats() {
+    return ImmutableMap.<String, Object>builder()
+        .put("pendingPosts", pending.size())
+        .put("flushCount", flushCount.get())
+        .put("flushedViews", flushedViews.get())
+        .build();
+  }
+
+  /**
+   * 종료 시 진행 중인 반영을 기다린 뒤 남은 조회수 반영
+   */
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    flushExecutor.shutdown();
+    if (!flushExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      log.warn("조회수 반영 작업이 종료되지 않았습니다.");
+    }
+    flush();
+  }
+}
@@ -1,9 +1,11 @@
 package com.board.thymeleaf.domain;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Ints;
 
 public class BaseSO extends LinkedHashMap<String,Object> {
@@ -12,6 +14,21 @@ public class BaseSO extends LinkedHashMap<String,Object> {
 	public static final String VAR_SIZE = "size";
 	public static final String VAR_ORDER = "order";
 	public static final String VAR_BY = "by";
+	public static final String VAR_MODE = "mode";
+	public static final String VAR_CURSOR = "cursor";
+	public static final String VAR_DIRECTION = "direction";
+	public static final String VAR_EXCERPT = "excerpt";
+	public static final String VAR_QUERY = "q";
+
+	// keyset 페이징
+	public static final String MODE_KEYSET = "keyset";
+	public static final String DIRECTION_NEXT = "next";
+	public static final String DIRECTION_PREV = "prev";
+
+	// 내부 사용 변수명 (mapper 전달용)
+	private static final String VAR_CURSOR_GROUP_ID = "cursorGroupId";
+	private static final String VAR_CURSOR_THREAD_KEY = "cursorThreadKey";
+	private static final String VAR_FETCH_SIZE = "fetchSize";
 
   // 미정의시 기본값
 	private static final int DEFAULT_PAGE = 1;
@@ -21,7 +38,7 @@ public class BaseSO extends LinkedHashMap<String,Object> {
   public BaseSO() {
     init();
   }
-  
+
   public BaseSO(Map<String, Object> map) {
     super(map);
 		init();
@@ -32,7 +49,63 @@ public class BaseSO extends LinkedHashMap<String,Object> {
 		this.put(VAR_SIZE, Optional.ofNullable((String) this.get(VAR_SIZE)).map(Ints::tryParse).orElse(DEFAULT_SIZE));
 		this.put(VAR_ORDER, Optional.ofNullable((String) this.get(VAR_ORDER)).map(String::trim).orElse(""));
 		this.put(VAR_BY, Optional.ofNullable((String) this.get(VAR_BY)).filter(d -> d.equalsIgnoreCase("asc") || d.equalsIgnoreCase("desc")).orElse(DEFAULT_ORDER_BY));
+		this.put(VAR_QUERY, Optional.ofNullable((String) this.get(VAR_QUERY)).map(String::trim).orElse(""));
+		this.put(VAR_EXCERPT, Optional.ofNullable(this.get(VAR_EXCERPT)).map(String::valueOf).map(Boolean::parseBoolean).orElse(false));
+    initKeyset();
+  }
+
+  /**
+   * keyset 페이징 변수 설정
+   *
+   * cursor가 있거나 mode=keyset이면 OFFSET 대신 (groupId, threadKey) 커서로 조회합니다.
+   * 검색(q)은 점수 순 정렬이므로 keyset을 사용하지 않습니다.
+   * 다음 페이지 존재 여부 판단을 위해 size + 1건을 조회합니다.
+   */
+  private void initKeyset() {
+    Optional<BoardCursor> cursor = Optional.ofNullable((String) this.get(VAR_CURSOR)).flatMap(BoardCursor::decode);
+    boolean keyset = !hasQuery() && (cursor.isPresent() || MODE_KEYSET.equalsIgnoreCase((String) this.get(VAR_MODE)));
+
+    this.put(VAR_MODE, keyset ? MODE_KEYSET : "");
+    this.put(VAR_DIRECTION, cursor.isPresent() && DIRECTION_PREV.equalsIgnoreCase((String) this.get(VAR_DIRECTION)) ? DIRECTION_PREV : DIRECTION_NEXT);
+    this.put(VAR_CURSOR_GROUP_ID, cursor.map(BoardCursor::getGroupId).orElse(null));
+    this.put(VAR_CURSOR_THREAD_KEY, cursor.map(BoardCursor::getThreadKey).orElse(null));
+    this.put(VAR_FETCH_SIZE, getSize() + 1);
+  }
+
+  public int getPage() {
+    return (Integer) this.get(VAR_PAGE);
+  }
+
+  public int getSize() {
+    return (Integer) this.get(VAR_SIZE);
+  }
+
+  public boolean isKeyset() {
+    return MODE_KEYSET.equals(this.get(VAR_MODE));
   }
 
-  
+  public boolean hasCursor() {
+    return this.get(VAR_CURSOR_GROUP_ID) != null;
+  }
+
+  public String getQuery() {
+    return (String) this.get(VAR_QUERY);
+  }
+
+  public boolean hasQuery() {
+    return !getQuery().isEmpty();
+  }
+
+  public boolean isPrevDirection() {
+    return DIRECTION_PREV.equals(this.get(VAR_DIRECTION));
+  }
+
+  /**
+   * 목록 캐시 키 (조회 결과에 영향을 주는 정규화된 조건만 사용)
+   */
+  public List<Object> getListCacheKey() {
+    return ImmutableList.of(get(VAR_PAGE), get(VAR_SIZE), get(VAR_ORDER), get(VAR_BY), get(VAR_EXCERPT), get(VAR_QUERY));
+  }
+
+
 }
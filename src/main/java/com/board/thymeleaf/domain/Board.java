@@ -24,10 +24,14 @@ public class Board {
   private int seq;
   private String title;
   private String content;
+  private String excerpt;
   private boolean display;
   private int groupId;
   private int groupOrder;
+  private String threadKey;
   private int depth;
+  private int replyCount;
+  private long hits;
   private boolean deleteYn;
   private Date regDate;
   private String regId;
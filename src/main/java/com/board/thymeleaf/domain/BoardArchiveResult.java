@@ -0,0 +1,20 @@
+package com.board.thymeleaf.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 삭제 게시글 보관 이관 결과
+ */
+@Builder
+@AllArgsConstructor
+@Getter
+@ToString
+public class BoardArchiveResult {
+  private final int postCount;
+  private final int fileCount;
+  private final int batchCount;
+  private final long elapsedMillis;
+}
@@ -0,0 +1,58 @@
+package com.board.thymeleaf.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+import com.google.common.primitives.Ints;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * keyset 페이징 커서
+ *
+ * 목록 정렬 키인 (groupId, threadKey)를 담으며, 화면/API에는 URL-safe Base64 문자열로만 노출합니다.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class BoardCursor {
+
+  private static final String SEPARATOR = ":";
+
+  private final int groupId;
+  private final String threadKey;
+
+  /**
+   * 커서를 불투명 문자열로 인코딩
+   */
+  public static String encode(int groupId, String threadKey) {
+    String raw = groupId + SEPARATOR + threadKey;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 커서 문자열 디코딩 (형식이 맞지 않으면 empty)
+   */
+  public static Optional<BoardCursor> decode(String cursor) {
+    if (cursor == null || cursor.trim().isEmpty()) {
+      return Optional.empty();
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+      String[] parts = raw.split(SEPARATOR);
+      if (parts.length != 2) {
+        return Optional.empty();
+      }
+      Integer groupId = Ints.tryParse(parts[0]);
+      if (groupId == null || !parts[1].chars().allMatch(Character::isDigit)) {
+        return Optional.empty();
+      }
+      return Optional.of(new BoardCursor(groupId, parts[1]));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.board.thymeleaf.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.type.Alias;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 게시글 + 첨부파일 목록
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString(callSuper = true)
+@Alias("boardDetail")
+public class BoardDetail extends Board {
+  private List<BoardFile> files = new ArrayList<>();
+}
@@ -26,6 +26,12 @@ public class BoardFile {
   private int fileSize;
   private String uploadName;
   private String uploadPath;
+  private BoardFileStatus status;
+  private String blobHash;
+  private String contentEncoding;
+  private String packId;
+  private Long packOffset;
+  private Long packLength;
   private boolean deleteYn;
   private Date regDate;
   private String regId;
@@ -0,0 +1,20 @@
+package com.board.thymeleaf.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 참조 없는 첨부파일 정리 결과
+ */
+@Builder
+@AllArgsConstructor
+@Getter
+@ToString
+public class BoardFileGcResult {
+  private final long scannedCount;
+  private final long deletedCount;
+  private final long reclaimedBytes;
+  private final long elapsedMillis;
+}
@@ -0,0 +1,13 @@
+package com.board.thymeleaf.domain;
+
+/**
+ * 첨부파일 저장 상태
+ *
+ * 업로드 파일은 임시 저장(staging) 후 커밋되면 별도 스레드에서 저장소로 옮기므로,
+ * 옮기기 전까지 PENDING이며 완료되면 STORED, 실패하면 FAILED가 됩니다.
+ */
+public enum BoardFileStatus {
+  PENDING,
+  STORED,
+  FAILED
+}
@@ -0,0 +1,12 @@
+package com.board.thymeleaf.domain;
+
+/**
+ * 이미지 첨부파일 축소본 종류
+ *
+ * THUMB은 게시글 화면에 바로 보여 주는 작은 이미지, PREVIEW는 클릭해서 크게 볼 때 쓰는 이미지이며
+ * 최대 크기는 board.file.thumbnail 설정을 따릅니다.
+ */
+public enum BoardFileThumbnailType {
+  THUMB,
+  PREVIEW
+}
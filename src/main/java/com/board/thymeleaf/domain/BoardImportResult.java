@@ -0,0 +1,28 @@
+package com.board.thymeleaf.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 게시글 일괄 등록 결과
+ */
+@Builder
+@AllArgsConstructor
+@Getter
+@ToString
+public class BoardImportResult {
+  private final int postCount;
+  private final int replyCount;
+  private final int fileCount;
+  private final int chunkCount;
+  private final long elapsedMillis;
+
+  /**
+   * 초당 등록 게시글 수
+   */
+  public long getPostsPerSecond() {
+    return elapsedMillis == 0 ? postCount : postCount * 1000L / elapsedMillis;
+  }
+}
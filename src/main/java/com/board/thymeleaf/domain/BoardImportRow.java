@@ -0,0 +1,36 @@
+package com.board.thymeleaf.domain;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 게시글 일괄 등록 입력 (JSON Lines 한 줄)
+ *
+ * sourceId/parentSourceId는 이전 게시판의 글 번호이며, 부모 글은 답글보다 앞 줄에 있어야 합니다.
+ * files는 이미 업로드 경로에 옮겨진 파일의 메타데이터만 등록합니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class BoardImportRow {
+  private String sourceId;
+  private String parentSourceId;
+  private String title;
+  private String content;
+  private Boolean display;
+  private Date regDate;
+  private String regId;
+  private List<BoardFile> files = new ArrayList<>();
+}
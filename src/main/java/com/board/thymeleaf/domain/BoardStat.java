@@ -0,0 +1,32 @@
+package com.board.thymeleaf.domain;
+
+import java.util.Date;
+
+import org.apache.ibatis.type.Alias;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 게시판 목록 건수 (board_stat)
+ *
+ * total_count는 목록에 노출되는 전체 행 수(삭제된 글 포함), delete_count는 그 중 삭제된 글 수입니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@Alias("boardStat")
+public class BoardStat {
+  private int statId;
+  private int totalCount;
+  private int deleteCount;
+  private Date updDate;
+}
@@ -8,19 +8,26 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+/**
+ * 게시판 목록 행
+ *
+ * 목록에 필요한 컬럼만 담습니다. 본문(content) 대신 등록/수정 시 만들어 둔 요약(excerpt)을
+ * 요청한 경우(excerpt=true)에만 조회합니다.
+ */
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 @ToString
-@Alias("pageboard")
-public class PageBoard extends PageVO {
+@Alias("boardSummary")
+public class BoardSummary extends PageVO {
   private int seq;
   private String title;
-  private String content;
+  private String excerpt;
   private boolean display;
   private int groupId;
   private int groupOrder;
+  private String threadKey;
   private int depth;
   private String regDate;
   private String regId;
@@ -0,0 +1,26 @@
+package com.board.thymeleaf.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.type.Alias;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 답글 트리 노드 (게시글 + 하위 답글)
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString(callSuper = true, exclude = "replies")
+@Alias("boardThreadNode")
+public class BoardThreadNode extends Board {
+  private List<BoardThreadNode> replies = new ArrayList<>();
+}
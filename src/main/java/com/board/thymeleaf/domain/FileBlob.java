@@ -0,0 +1,34 @@
+package com.board.thymeleaf.domain;
+
+import java.util.Date;
+
+import org.apache.ibatis.type.Alias;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 첨부파일 내용 (SHA-256 기준 중복 제거 단위)
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@Alias("fileBlob")
+public class FileBlob {
+  private String hash;
+  private long fileSize;
+  private int refCount;
+  private BoardFileStatus status;
+  private String stagedName;
+  private String contentEncoding;
+  private String packId;
+  private Long packOffset;
+  private Long packLength;
+  private Date regDate;
+  private Date updDate;
+}
@@ -0,0 +1,22 @@
+package com.board.thymeleaf.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * ID 채번 시퀀스
+ *
+ * blockSize는 DB 시퀀스의 INCREMENT BY 값과 같아야 합니다. (schema.sql)
+ * 시퀀스 값 하나를 받으면 [값, 값 + blockSize) 구간을 메모리에서 나눠 씁니다.
+ */
+@AllArgsConstructor
+@Getter
+public enum IdSequence {
+  BOARD("board_seq", 50),
+  BOARD_FILE("board_file_seq", 50),
+  ORGANIZATION("organization_seq", 20),
+  PASSWORD_RESET("password_reset_seq", 20);
+
+  private final String sequenceName;
+  private final int blockSize;
+}
@@ -30,8 +30,22 @@ public class Pager<T extends PageVO> {
   private Integer totalPage = 0;
   @Builder.Default
   private List<T> contents = new ArrayList<>();
+  @Builder.Default
+  private boolean keyset = false;
+  /** 검색 결과가 최대 건수에서 잘려 totalCount가 실제보다 적을 수 있음 */
+  @Builder.Default
+  private boolean approximate = false;
+  private String nextCursor;
+  private String prevCursor;
 
   public Pager(List<T> contents) {
+    this(contents, null);
+  }
+
+  /**
+   * 총 건수를 별도로 관리하는 경우(board_stat) 조회 행의 TOTAL_COUNT 대신 전달받은 건수를 사용
+   */
+  public Pager(List<T> contents, Integer totalCount) {
     this.contents = Optional.ofNullable(contents).filter(list -> list.size() > 0).orElse(new ArrayList<>());
     if (this.contents.size() == 0) {
       this.totalCount = 0;
@@ -39,13 +53,16 @@ public class Pager<T extends PageVO> {
       this.totalPage = 1;
     } else {
       T item = contents.get(0);
-      this.totalCount = item.getTotalCount();
+      this.totalCount = Optional.ofNullable(totalCount).orElse(item.getTotalCount());
       this.currentPage = item.getCurrentPage();
-      this.totalPage =  (int) Math.ceil(item.getTotalCount() * 1.0  / item.getSize());
+      this.totalPage =  (int) Math.ceil(this.totalCount * 1.0  / item.getSize());
     }
   }
   public static <P extends PageVO> Pager<P> formList(List<P> contents) {
     return new Pager<P>(contents);
   }
+  public static <P extends PageVO> Pager<P> formList(List<P> contents, Integer totalCount) {
+    return new Pager<P>(contents, totalCount);
+  }
 
 }
@@ -0,0 +1,38 @@
+package com.board.thymeleaf.event;
+
+import java.util.Collections;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 게시판 변경 이벤트
+ *
+ * 게시글/첨부파일 변경 시 발행되며, 트랜잭션 커밋 이후 캐시 무효화, 검색 색인 갱신 등에 사용합니다.
+ * seqs가 비어 있으면 특정 글이 아닌 게시판 전체 변경(건수 보정 등)을 의미합니다.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class BoardChangedEvent {
+
+  private final List<Integer> seqs;
+
+  public static BoardChangedEvent of(Integer seq) {
+    return new BoardChangedEvent(Collections.singletonList(seq));
+  }
+
+  public static BoardChangedEvent of(List<Integer> seqs) {
+    return new BoardChangedEvent(Collections.unmodifiableList(seqs));
+  }
+
+  public static BoardChangedEvent all() {
+    return new BoardChangedEvent(Collections.emptyList());
+  }
+
+  public boolean isAll() {
+    return seqs.isEmpty();
+  }
+}
@@ -0,0 +1,23 @@
+package com.board.thymeleaf.event;
+
+import java.util.List;
+
+import com.board.thymeleaf.storage.StagedFile;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 첨부파일 등록 이벤트
+ *
+ * 임시 저장된 파일을 board_file/file_blob에 등록한 트랜잭션에서 발행하며,
+ * 커밋 후 새 내용은 저장소로 옮기고 이미 있던 내용의 staging 파일은 지우는 데 사용합니다.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class BoardFilesRegisteredEvent {
+
+  private final List<StagedFile> files;
+}
@@ -0,0 +1,20 @@
+package com.board.thymeleaf.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 첨부파일 내용 저장 완료 이벤트
+ *
+ * staging 파일이 blob 경로로 옮겨져 STORED가 된 트랜잭션에서 발행하며,
+ * 커밋 후 이미지 축소본 생성 등 저장된 파일을 읽어야 하는 후속 처리에 사용합니다.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class FileBlobStoredEvent {
+
+  private final String hash;
+  private final String contentEncoding;
+}
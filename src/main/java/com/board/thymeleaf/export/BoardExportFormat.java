@@ -0,0 +1,33 @@
+package com.board.thymeleaf.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 게시판 내보내기 형식
+ */
+@AllArgsConstructor
+@Getter
+public enum BoardExportFormat {
+
+  JSONL("jsonl", "application/x-ndjson;charset=UTF-8"),
+  CSV("csv", "text/csv;charset=UTF-8");
+
+  private final String extension;
+  private final String contentType;
+
+  public BoardExportWriter createWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+    return this == CSV ? new CsvBoardExportWriter(out) : new JsonLinesBoardExportWriter(objectMapper, out);
+  }
+
+  public static Optional<BoardExportFormat> of(String extension) {
+    return Arrays.stream(values()).filter(f -> f.extension.equalsIgnoreCase(extension)).findFirst();
+  }
+}
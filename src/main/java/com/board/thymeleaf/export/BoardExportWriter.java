@@ -0,0 +1,17 @@
+package com.board.thymeleaf.export;
+
+import java.io.IOException;
+
+import com.board.thymeleaf.domain.BoardDetail;
+
+/**
+ * 게시판 내보내기 출력기
+ *
+ * 한 건씩 바로 출력하므로 전체 건수와 관계없이 메모리 사용량이 일정합니다.
+ */
+public interface BoardExportWriter {
+
+  void write(BoardDetail board) throws IOException;
+
+  void flush() throws IOException;
+}
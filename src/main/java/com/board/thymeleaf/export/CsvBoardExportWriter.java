@@ -0,0 +1,91 @@
+package com.board.thymeleaf.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.board.thymeleaf.domain.BoardDetail;
+import com.board.thymeleaf.domain.BoardFile;
+
+/**
+ * CSV 내보내기
+ *
+ * 엑셀에서 한글이 깨지지 않도록 UTF-8 BOM을 먼저 씁니다.
+ * 첨부파일은 files 컬럼에 "파일번호:파일명:크기"를 '|'로 이어 붙입니다.
+ */
+public class CsvBoardExportWriter implements BoardExportWriter {
+
+  private static final char BOM = '\uFEFF';
+  private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+  private static final List<String> HEADER = Arrays.asList(
+      "seq", "title", "content", "display", "groupId", "groupOrder", "threadKey", "depth",
+      "deleteYn", "regDate", "regId", "updDate", "updId", "fileCount", "files");
+
+  private final Writer writer;
+  private final SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
+
+  public CsvBoardExportWriter(OutputStream out) throws IOException {
+    this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(BOM);
+    writeRow(HEADER);
+  }
+
+  @Override
+  public void write(BoardDetail board) throws IOException {
+    writeRow(Arrays.asList(
+        String.valueOf(board.getSeq()),
+        board.getTitle(),
+        board.getContent(),
+        String.valueOf(board.isDisplay()),
+        String.valueOf(board.getGroupId()),
+        String.valueOf(board.getGroupOrder()),
+        board.getThreadKey(),
+        String.valueOf(board.getDepth()),
+        String.valueOf(board.isDeleteYn()),
+        formatDate(board.getRegDate()),
+        board.getRegId(),
+        formatDate(board.getUpdDate()),
+        board.getUpdId(),
+        String.valueOf(board.getFiles().size()),
+        board.getFiles().stream().map(this::formatFile).collect(Collectors.joining("|"))));
+  }
+
+  @Override
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  private void writeRow(List<String> values) throws IOException {
+    writer.write(values.stream().map(this::escape).collect(Collectors.joining(",")));
+    writer.write("\r\n");
+  }
+
+  private String formatFile(BoardFile file) {
+    return file.getFileSeq() + ":" + file.getFileName() + ":" + file.getFileSize();
+  }
+
+  private String formatDate(Date date) {
+    return date == null ? "" : dateFormat.format(date);
+  }
+
+  /**
+   * 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 내부 따옴표는 두 번 씀
+   */
+  private String escape(String value) {
+    if (value == null) {
+      return "";
+    }
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,34 @@
+package com.board.thymeleaf.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.board.thymeleaf.domain.BoardDetail;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+/**
+ * JSON Lines 내보내기 (한 줄에 게시글 하나)
+ */
+public class JsonLinesBoardExportWriter implements BoardExportWriter {
+
+  private final SequenceWriter writer;
+
+  public JsonLinesBoardExportWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+    this.writer = objectMapper.writer()
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .withRootValueSeparator("\n")
+        .writeValues(out);
+  }
+
+  @Override
+  public void write(BoardDetail board) throws IOException {
+    writer.write(board);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    writer.flush();
+  }
+}
@@ -0,0 +1,31 @@
+package com.board.thymeleaf.job;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.board.thymeleaf.service.ifc.BoardArchiveService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 삭제 게시글 보관 이관 작업
+ *
+ * 삭제 표시만 된 글/첨부파일을 주기적으로 보관 테이블로 옮겨 목록 조회와 인덱스가 살아 있는 데이터만 다루도록 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardArchiveJob {
+
+  private final BoardArchiveService boardArchiveService;
+
+  @Scheduled(fixedDelayString = "${board.archive.delay:3600000}", initialDelayString = "${board.archive.delay:3600000}")
+  public void archive() {
+    try {
+      boardArchiveService.archiveDeleted();
+    } catch (Exception e) {
+      log.error("삭제 게시글 이관 실패", e);
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.board.thymeleaf.job;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.board.thymeleaf.repository.BoardRepo;
+import com.board.thymeleaf.util.ExcerptUtil;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 목록 요약(excerpt) 이관 작업
+ *
+ * excerpt 도입 이전에 등록된 글의 요약을 본문 앞부분으로 채웁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardExcerptMigration implements ApplicationRunner {
+
+  private final BoardRepo boardRepo;
+
+  @Value("${board.list.excerpt-length:100}")
+  private int excerptLength;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    int updated = boardRepo.fillMissingExcerpt(ExcerptUtil.clampLength(excerptLength));
+    if (updated > 0) {
+      log.info("목록 요약 이관 완료: {}건", updated);
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.board.thymeleaf.job;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.board.thymeleaf.storage.BoardFileGarbageCollector;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 참조 없는 첨부파일 정리 작업
+ *
+ * 삭제/이관으로 참조가 사라진 blob과 등록에 실패해 남은 파일을 주기적으로 지웁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardFileGcJob {
+
+  private final BoardFileGarbageCollector boardFileGarbageCollector;
+
+  @Scheduled(fixedDelayString = "${board.file.gc.delay:86400000}", initialDelayString = "${board.file.gc.delay:86400000}")
+  public void collect() {
+    try {
+      boardFileGarbageCollector.collect();
+    } catch (Exception e) {
+      log.error("참조 없는 첨부파일 정리 실패", e);
+    }
+  }
+}
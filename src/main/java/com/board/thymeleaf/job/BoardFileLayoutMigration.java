@@ -0,0 +1,261 @@
+package com.board.thymeleaf.job;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.board.thymeleaf.domain.BoardFile;
+import com.board.thymeleaf.domain.BoardFileStatus;
+import com.board.thymeleaf.domain.FileBlob;
+import com.board.thymeleaf.repository.BoardFileRepo;
+import com.board.thymeleaf.repository.FileBlobRepo;
+import com.board.thymeleaf.storage.BoardFileStorage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 첨부파일 저장 위치 이관 작업
+ *
+ * 기동 후 별도 스레드에서 batchSize건씩 나누어 처리하므로 이관 중에도 서비스는 계속됩니다.
+ * 1. blob 바로 아래 있던 파일을 해시 하위 디렉터리로 옮김 (옮기기 전까지는 BoardFileStorage가 원래 위치에서 읽음)
+ * 2. blob 첨부파일의 upload_path/upload_name을 새 위치로 갱신
+ * 3. blob 도입 이전 파일은 해시를 계산해 blob으로 복사하고 batch 트랜잭션으로 file_blob 참조와 board_file 위치를 바꾼 뒤,
+ *    커밋되면 원래 파일을 지움 (그 사이 삭제된 첨부파일은 건너뛰며 복사본은 참조가 없어 정리 대상이 됨)
+ *    같은 파일을 가리키는 이전 방식 첨부파일이 아직 남아 있으면 원래 파일은 그 행까지 전환된 뒤에 지웁니다.
+ * 파일이 없거나 경로가 upload 경로를 벗어나는 첨부파일은 경고만 남기고 건너뜁니다.
+ */
+@Slf4j
+@Component
+public class BoardFileLayoutMigration implements ApplicationRunner {
+
+  private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  private final BoardFileRepo boardFileRepo;
+  private final FileBlobRepo fileBlobRepo;
+  private final BoardFileStorage boardFileStorage;
+  private final TransactionTemplate transactionTemplate;
+  private final ExecutorService migrationExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "board-file-layout-migration"));
+
+  @Value("${board.file.layout-migration.enabled:true}")
+  private boolean enabled;
+
+  @Value("${board.file.layout-migration.batch-size:500}")
+  private int batchSize;
+
+  @Value("${board.file.layout-migration.batch-delay:100}")
+  private long batchDelay;
+
+  public BoardFileLayoutMigration(
+      BoardFileRepo boardFileRepo,
+      FileBlobRepo fileBlobRepo,
+      BoardFileStorage boardFileStorage,
+      @Qualifier("boardTxManager") PlatformTransactionManager boardTxManager) {
+    this.boardFileRepo = boardFileRepo;
+    this.fileBlobRepo = fileBlobRepo;
+    this.boardFileStorage = boardFileStorage;
+    this.transactionTemplate = new TransactionTemplate(boardTxManager);
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (enabled) {
+      migrationExecutor.submit(this::migrate);
+    }
+  }
+
+  /**
+   * 종료 시 진행 중인 batch 이후는 중단 (다음 기동 시 남은 것부터 이어서 처리)
+   */
+  @PreDestroy
+  public void shutdown() {
+    migrationExecutor.shutdownNow();
+  }
+
+  private void migrate() {
+    try {
+      int moved = moveFlatBlobs();
+      int relocated = relocateBlobFiles();
+      int converted = convertLegacyFiles();
+      if (moved + relocated + converted > 0) {
+        log.info("첨부파일 위치 이관 완료: blob 이동 {}건, 경로 갱신 {}건, 이전 방식 파일 전환 {}건", moved, relocated, converted);
+      }
+    } catch (InterruptedException e) {
+      log.info("첨부파일 위치 이관 중단");
+    } catch (Exception e) {
+      log.error("첨부파일 위치 이관 실패", e);
+    }
+  }
+
+  /**
+   * blob 바로 아래 파일을 해시 하위 디렉터리로 이동
+   */
+  private int moveFlatBlobs() throws IOException, InterruptedException {
+    Path blobRoot = boardFileStorage.getBlobRoot();
+    if (!Files.isDirectory(blobRoot)) {
+      return 0;
+    }
+    int count = 0;
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(blobRoot,
+        path -> Files.isRegularFile(path) && HASH_PATTERN.matcher(path.getFileName().toString()).matches())) {
+      for (Path file : files) {
+        Path target = boardFileStorage.getBlobPath(file.getFileName().toString());
+        Files.createDirectories(target.getParent());
+        Files.move(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (++count % batchSize == 0) {
+          pause();
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * blob 첨부파일의 upload_path/upload_name을 해시 하위 디렉터리로 갱신
+   */
+  private int relocateBlobFiles() throws InterruptedException {
+    int count = 0;
+    int afterFileSeq = 0;
+    while (true) {
+      List<BoardFile> files = boardFileRepo.getUnshardedBlobFileList(afterFileSeq, batchSize);
+      if (files.isEmpty()) {
+        return count;
+      }
+      transactionTemplate.executeWithoutResult(status -> {
+        for (BoardFile file : files) {
+          file.setUploadPath(boardFileStorage.getBlobDir(file.getBlobHash()));
+          file.setUploadName(file.getBlobHash());
+          boardFileRepo.updateBoardFileBlobLocation(file);
+        }
+      });
+      count += files.size();
+      afterFileSeq = files.get(files.size() - 1).getFileSeq();
+      pause();
+    }
+  }
+
+  /**
+   * blob 도입 이전 파일을 blob으로 전환
+   */
+  private int convertLegacyFiles() throws IOException, InterruptedException {
+    int count = 0;
+    int afterFileSeq = 0;
+    while (true) {
+      List<BoardFile> files = boardFileRepo.getLegacyBoardFileList(afterFileSeq, batchSize);
+      if (files.isEmpty()) {
+        return count;
+      }
+
+      List<LegacyCopy> copies = new ArrayList<>();
+      for (BoardFile file : files) {
+        Path source;
+        try {
+          source = boardFileStorage.getLegacyFilePath(file);
+        } catch (IllegalStateException e) {
+          log.warn("{}, 이관하지 않습니다", e.getMessage());
+          continue;
+        }
+        if (!Files.isRegularFile(source)) {
+          log.warn("첨부파일이 없어 이관하지 않습니다: {}", file);
+          continue;
+        }
+        copies.add(copyToBlob(file, source));
+      }
+
+      List<Path> converted = transactionTemplate.execute(status -> {
+        List<Path> done = new ArrayList<>();
+        for (LegacyCopy copy : copies) {
+          if (registerLegacyFile(copy)) {
+            done.add(copy.source);
+          }
+        }
+        return done;
+      });
+      for (Path source : new LinkedHashSet<>(converted)) {
+        if (!boardFileStorage.isLegacyFileReferenced(source)) {
+          Files.deleteIfExists(source);
+        }
+      }
+      count += converted.size();
+      afterFileSeq = files.get(files.size() - 1).getFileSeq();
+      pause();
+    }
+  }
+
+  /**
+   * 파일 해시를 계산하고 같은 내용의 blob이 없으면 복사 (임시 파일에 쓴 뒤 이름 변경)
+   */
+  private LegacyCopy copyToBlob(BoardFile file, Path source) throws IOException {
+    long size = Files.size(source);
+    String hash = boardFileStorage.hash(source);
+    Path target = boardFileStorage.getBlobPath(hash);
+    if (!Files.exists(target)) {
+      Files.createDirectories(target.getParent());
+      Path temp = target.resolveSibling(hash + TEMP_SUFFIX);
+      Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    file.setBlobHash(hash);
+    file.setUploadPath(boardFileStorage.getBlobDir(hash));
+    file.setUploadName(hash);
+    return new LegacyCopy(file, source, size);
+  }
+
+  /**
+   * board_file을 blob으로 바꾸고 참조 수 반영 (저장 중인 같은 내용이 있으면 다음 실행으로 미룸)
+   */
+  private boolean registerLegacyFile(LegacyCopy copy) {
+    BoardFile file = copy.file;
+    FileBlob blob = fileBlobRepo.getFileBlobForUpdate(file.getBlobHash());
+    if (blob != null && blob.getStatus() != BoardFileStatus.STORED) {
+      return false;
+    }
+    if (boardFileRepo.updateLegacyBoardFileToBlob(file) == 0) {
+      return false;
+    }
+    if (blob == null) {
+      fileBlobRepo.insertFileBlob(new FileBlob(file.getBlobHash(), copy.size, 1, BoardFileStatus.STORED, null, null, null, null, null, null, null));
+    } else {
+      blob.setRefCount(blob.getRefCount() + 1);
+      fileBlobRepo.updateFileBlob(blob);
+    }
+    return true;
+  }
+
+  private void pause() throws InterruptedException {
+    Thread.sleep(batchDelay);
+  }
+
+  /**
+   * blob으로 복사한 이전 방식 첨부파일
+   */
+  private static class LegacyCopy {
+    private final BoardFile file;
+    private final Path source;
+    private final long size;
+
+    private LegacyCopy(BoardFile file, Path source, long size) {
+      this.file = file;
+      this.source = source;
+      this.size = size;
+    }
+  }
+}
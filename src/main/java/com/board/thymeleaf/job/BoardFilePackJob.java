@@ -0,0 +1,140 @@
+package com.board.thymeleaf.job;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.board.thymeleaf.domain.FileBlob;
+import com.board.thymeleaf.repository.FileBlobRepo;
+import com.board.thymeleaf.storage.BoardFilePackStore;
+import com.board.thymeleaf.storage.BoardFilePackStore.PackWriter;
+import com.board.thymeleaf.storage.BoardFileStorage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 오래 받지 않은 작은 첨부파일을 pack으로 묶는 작업
+ *
+ * maxFileSize 이하이면서 coldDays 동안 다운로드되지 않은 개별 파일 blob을 batchSize건씩 새 pack 하나에 이어 쓰고,
+ * 디스크에 반영(force)한 뒤 한 트랜잭션으로 file_blob에 pack 위치를 기록합니다.
+ * 이관 직전에 조회한 요청이 읽을 수 있도록 개별 파일은 바로 지우지 않고 다음 GC 때 정리하며,
+ * 기록 전에 중단되어 참조가 없는 pack도 GC가 지웁니다.
+ */
+@Slf4j
+@Component
+public class BoardFilePackJob {
+
+  private final FileBlobRepo fileBlobRepo;
+  private final BoardFileStorage boardFileStorage;
+  private final BoardFilePackStore boardFilePackStore;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${board.file.pack.enabled:true}")
+  private boolean enabled;
+
+  @Value("${board.file.pack.cold-days:30}")
+  private long coldDays;
+
+  @Value("${board.file.pack.max-file-size:65536}")
+  private long maxFileSize;
+
+  @Value("${board.file.pack.batch-size:1000}")
+  private int batchSize;
+
+  public BoardFilePackJob(
+      FileBlobRepo fileBlobRepo,
+      BoardFileStorage boardFileStorage,
+      BoardFilePackStore boardFilePackStore,
+      @Qualifier("boardTxManager") PlatformTransactionManager boardTxManager) {
+    this.fileBlobRepo = fileBlobRepo;
+    this.boardFileStorage = boardFileStorage;
+    this.boardFilePackStore = boardFilePackStore;
+    this.transactionTemplate = new TransactionTemplate(boardTxManager);
+  }
+
+  @Scheduled(fixedDelayString = "${board.file.pack.delay:86400000}", initialDelayString = "${board.file.pack.delay:86400000}")
+  public void run() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      pack();
+    } catch (Exception e) {
+      log.error("첨부파일 pack 이관 실패", e);
+    }
+  }
+
+  /**
+   * pack 이관 실행 (이관한 blob 수 반환)
+   */
+  public int pack() throws IOException {
+    // 다운로드 기록을 먼저 반영해 최근에 받은 파일이 대상에 들지 않도록 함
+    boardFilePackStore.flushAccess();
+    Date accessedBefore = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(coldDays));
+
+    int count = 0;
+    int packCount = 0;
+    String afterHash = "";
+    while (true) {
+      List<FileBlob> blobs = fileBlobRepo.getColdFileBlobList(afterHash, accessedBefore, maxFileSize, batchSize);
+      if (blobs.isEmpty()) {
+        break;
+      }
+      afterHash = blobs.get(blobs.size() - 1).getHash();
+
+      List<FileBlob> packed = writePack(blobs);
+      if (packed.isEmpty()) {
+        continue;
+      }
+      count += transactionTemplate.execute(status -> {
+        int updated = 0;
+        for (FileBlob blob : packed) {
+          updated += fileBlobRepo.updateFileBlobPackLocation(blob);
+        }
+        return updated;
+      });
+      packCount++;
+    }
+    if (count > 0) {
+      log.info("첨부파일 pack 이관 완료: blob {}건, pack {}개", count, packCount);
+    }
+    return count;
+  }
+
+  /**
+   * blob 파일을 새 pack에 이어 쓰고 위치를 채운 목록 반환 (읽기와 같은 경로 사용, 파일이 없는 blob은 건너뜀)
+   */
+  private List<FileBlob> writePack(List<FileBlob> blobs) throws IOException {
+    List<FileBlob> packed = new ArrayList<>();
+    try (PackWriter writer = boardFilePackStore.createPack()) {
+      for (FileBlob blob : blobs) {
+        Path source = boardFileStorage.getStoredBlobPath(blob.getHash());
+        if (!Files.isRegularFile(source)) {
+          log.warn("blob 파일이 없어 pack에 넣지 않습니다: {}", blob.getHash());
+          continue;
+        }
+        long offset = writer.append(source);
+        blob.setPackId(writer.getPackId());
+        blob.setPackOffset(offset);
+        blob.setPackLength(writer.size() - offset);
+        packed.add(blob);
+      }
+      writer.finish();
+      if (packed.isEmpty()) {
+        Files.deleteIfExists(boardFilePackStore.getPackPath(writer.getPackId()));
+      }
+    }
+    return packed;
+  }
+}
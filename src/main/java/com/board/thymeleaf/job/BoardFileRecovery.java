@@ -0,0 +1,31 @@
+package com.board.thymeleaf.job;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.board.thymeleaf.storage.BoardFileStorage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기동 시 저장 대기(PENDING) 첨부파일 복구
+ *
+ * 등록은 커밋됐지만 저장소로 옮기기 전에 종료된 파일을 다시 옮기거나, staging 파일이 없으면 실패로 처리합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardFileRecovery implements ApplicationRunner {
+
+  private final BoardFileStorage boardFileStorage;
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    int count = boardFileStorage.recoverPending();
+    if (count > 0) {
+      log.info("저장 대기 첨부파일 복구: {}건", count);
+    }
+  }
+}
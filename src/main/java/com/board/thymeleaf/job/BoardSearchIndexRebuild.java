@@ -0,0 +1,27 @@
+package com.board.thymeleaf.job;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.board.thymeleaf.search.BoardSearchIndex;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 기동 시 검색 색인 재구축
+ *
+ * 색인은 메모리에만 있으므로 기동할 때마다 게시글 테이블에서 다시 만듭니다.
+ * 재구축이 끝난 뒤에 기동이 완료되도록 대기합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardSearchIndexRebuild implements ApplicationRunner {
+
+  private final BoardSearchIndex boardSearchIndex;
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    boardSearchIndex.rebuild().get();
+  }
+}
@@ -0,0 +1,31 @@
+package com.board.thymeleaf.job;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.board.thymeleaf.service.ifc.BoardService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * board_stat 건수 보정 작업
+ *
+ * 등록/삭제 시 증감으로 관리하는 건수가 실제 건수와 어긋난 경우(직접 SQL 수정 등) 주기적으로 바로잡습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardStatReconcileJob {
+
+  private final BoardService boardService;
+
+  @Scheduled(fixedDelayString = "${board.stat.reconcile-delay:600000}", initialDelayString = "${board.stat.reconcile-delay:600000}")
+  public void reconcile() {
+    try {
+      boardService.reconcileBoardStat();
+    } catch (Exception e) {
+      log.error("게시판 건수 보정 실패", e);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.board.thymeleaf.job;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.board.thymeleaf.domain.Board;
+import com.board.thymeleaf.repository.BoardRepo;
+import com.board.thymeleaf.util.ThreadKeyUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * thread_key 이관 작업
+ *
+ * thread_key 도입 이전 데이터(group_order로만 정렬되던 글)에 thread_key와 reply_count를 채웁니다.
+ * 그룹 단위 트랜잭션으로 처리하며, 이관이 끝난 그룹은 다시 조회되지 않습니다.
+ */
+@Slf4j
+@Component
+public class BoardThreadKeyMigration implements ApplicationRunner {
+
+  private final BoardRepo boardRepo;
+  private final TransactionTemplate transactionTemplate;
+
+  public BoardThreadKeyMigration(BoardRepo boardRepo, @Qualifier("boardTxManager") PlatformTransactionManager boardTxManager) {
+    this.boardRepo = boardRepo;
+    this.transactionTemplate = new TransactionTemplate(boardTxManager);
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    List<Integer> groupIds = boardRepo.getThreadKeyMissingGroupIds();
+    if (groupIds.isEmpty()) {
+      return;
+    }
+
+    log.info("thread_key 이관 시작: {}개 그룹", groupIds.size());
+    for (Integer groupId : groupIds) {
+      transactionTemplate.executeWithoutResult(status -> migrateGroup(groupId));
+    }
+    log.info("thread_key 이관 완료: {}개 그룹", groupIds.size());
+  }
+
+  /**
+   * 그룹 하나의 thread_key 계산
+   *
+   * 기존 group_order 순서에서 각 글의 부모는 앞쪽에서 가장 가까운 (depth - 1) 글입니다.
+   * 형제 글 중 앞에 있는 글이 더 큰 답글 번호를 받아야 기존 순서가 유지되므로 형제 수를 먼저 셉니다.
+   */
+  private void migrateGroup(Integer groupId) {
+    List<Board> rows = boardRepo.getGroupBoardListByGroupOrder(groupId);
+
+    Map<Integer, Board> parents = new HashMap<>();
+    Map<Integer, Integer> replyCounts = new HashMap<>();
+    Deque<Board> path = new ArrayDeque<>();
+    for (Board row : rows) {
+      while (!path.isEmpty() && path.peek().getDepth() >= row.getDepth()) {
+        path.pop();
+      }
+      if (!path.isEmpty()) {
+        parents.put(row.getSeq(), path.peek());
+        replyCounts.merge(path.peek().getSeq(), 1, Integer::sum);
+      }
+      path.push(row);
+    }
+
+    Map<Integer, Integer> remaining = new HashMap<>(replyCounts);
+    for (Board row : rows) {
+      Board parent = parents.get(row.getSeq());
+      if (parent == null) {
+        row.setThreadKey(ThreadKeyUtil.ROOT_KEY);
+      } else {
+        int replyNo = remaining.merge(parent.getSeq(), -1, Integer::sum) + 1;
+        row.setThreadKey(ThreadKeyUtil.childKey(parent.getThreadKey(), replyNo));
+      }
+      row.setReplyCount(replyCounts.getOrDefault(row.getSeq(), 0));
+      boardRepo.updateThreadKey(row);
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.board.thymeleaf.repository;
+
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+
+import com.board.thymeleaf.config.BoardMapper;
+
+@BoardMapper
+@Repository
+public interface BoardArchiveRepo {
+
+  List<Integer> getArchivableBoardSeqs(int limit);
+  List<Integer> lockBoardsForArchive(List<Integer> seqs);
+  List<Integer> getArchivableBoardSeqsIn(List<Integer> seqs);
+  Integer archiveBoard(List<Integer> seqs);
+  Integer archiveBoardFileByBoardSeqs(List<Integer> seqs);
+  Integer releaseFileBlobByBoardSeqs(List<Integer> seqs);
+  Integer deleteBoardFileByBoardSeqs(List<Integer> seqs);
+  Integer deleteBoard(List<Integer> seqs);
+  List<Integer> getArchivableFileSeqs(int limit);
+  Integer archiveBoardFile(List<Integer> fileSeqs);
+  Integer deleteBoardFile(List<Integer> fileSeqs);
+
+}
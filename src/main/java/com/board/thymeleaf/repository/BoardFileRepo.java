@@ -2,18 +2,30 @@ package com.board.thymeleaf.repository;
 
 import java.util.List;
 
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Repository;
 
 import com.board.thymeleaf.config.BoardMapper;
 import com.board.thymeleaf.domain.BoardFile;
+import com.board.thymeleaf.domain.BoardFileStatus;
 
 @BoardMapper
 @Repository
 public interface BoardFileRepo {
 
   Integer insertBoardFile(BoardFile boardFile);
+  Integer insertBoardFileList(List<BoardFile> boardFiles);
   List<BoardFile> getBoardFileList(Integer boardSeq);
+  BoardFile getBoardFile(Integer fileSeq);
   Integer deleteBoardFile(Integer fileSeq);
+  List<Integer> getUnstoredBoardSeqsByBlobHash(String blobHash);
+  Integer updateBoardFileStatusByBlobHash(String blobHash, BoardFileStatus status);
+  List<BoardFile> getUnshardedBlobFileList(Integer afterFileSeq, Integer limit);
+  List<BoardFile> getLegacyBoardFileList(Integer afterFileSeq, Integer limit);
+  Integer updateBoardFileBlobLocation(BoardFile boardFile);
+  Integer updateLegacyBoardFileToBlob(BoardFile boardFile);
+  Cursor<BoardFile> getLegacyBoardFileCursor();
+  List<BoardFile> getLegacyBoardFileListByUploadName(String uploadName);
   
 }
 
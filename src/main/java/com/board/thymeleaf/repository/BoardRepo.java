@@ -3,23 +3,42 @@ package com.board.thymeleaf.repository;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Repository;
 
 import com.board.thymeleaf.config.BoardMapper;
 import com.board.thymeleaf.domain.Board;
-import com.board.thymeleaf.domain.PageBoard;
+import com.board.thymeleaf.domain.BoardDetail;
+import com.board.thymeleaf.domain.BoardSummary;
+import com.board.thymeleaf.domain.BoardThreadNode;
 
 @BoardMapper
 @Repository
 public interface BoardRepo {
 
-  List<PageBoard> getBoardList(Map<String,Object> map);
+  List<BoardSummary> getBoardList(Map<String,Object> map);
+  List<BoardSummary> getBoardListByCursor(Map<String,Object> map);
   Integer insertBoard(Board board);
+  Integer importBoard(Board board);
   Board getBoardView(Integer seq);
+  BoardDetail getBoardDetail(Integer seq);
   Board getParentBoard(Integer groupId);
+  Integer increaseHits(Integer seq, Long count);
+  List<BoardThreadNode> getBoardThread(Integer groupId);
   Integer insertReplyBoard(Map<String,Object> map);
   Integer updateBoard(Board board);
-  Integer updateGroupOrd(Map<String,Object> map);
+  Integer increaseReplyCount(Integer seq);
+  Integer updateReplyCount(Board board);
   Integer deleteBoard(Integer seq);
+  List<Integer> getThreadKeyMissingGroupIds();
+  List<Board> getGroupBoardListByGroupOrder(Integer groupId);
+  Integer updateThreadKey(Board board);
+  Integer fillMissingExcerpt(int length);
+  Cursor<BoardDetail> getBoardExportCursor(boolean includeDeleted);
+  List<BoardSummary> getBoardListBySeqs(Map<String,Object> map);
+  List<Integer> getBoardSeqsByKeyword(Map<String,Object> map);
+  Map<String,Object> getBoardSeqRange();
+  List<Board> getBoardSearchSourceList(long afterSeq, long toSeq, int limit);
+  List<Board> getBoardSearchSourceListBySeqs(List<Integer> seqs);
   
 }
@@ -0,0 +1,16 @@
+package com.board.thymeleaf.repository;
+
+import org.springframework.stereotype.Repository;
+
+import com.board.thymeleaf.config.BoardMapper;
+import com.board.thymeleaf.domain.BoardStat;
+
+@BoardMapper
+@Repository
+public interface BoardStatRepo {
+
+  BoardStat getBoardStat();
+  Integer increaseBoardStat(int totalDelta, int deleteDelta);
+  Integer reconcileBoardStat();
+
+}
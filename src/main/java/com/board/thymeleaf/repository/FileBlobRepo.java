@@ -0,0 +1,33 @@
+package com.board.thymeleaf.repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Repository;
+
+import com.board.thymeleaf.config.BoardMapper;
+import com.board.thymeleaf.domain.BoardFileStatus;
+import com.board.thymeleaf.domain.FileBlob;
+
+@BoardMapper
+@Repository
+public interface FileBlobRepo {
+
+  FileBlob getFileBlobForUpdate(String hash);
+  Integer insertFileBlob(FileBlob fileBlob);
+  Integer updateFileBlob(FileBlob fileBlob);
+  Integer updateFileBlobStatus(String hash, BoardFileStatus status, String contentEncoding);
+  Integer releaseFileBlobByFileSeq(Integer fileSeq);
+  List<FileBlob> getPendingFileBlobList();
+  Cursor<FileBlob> getFileBlobCursorByHashPrefix(String hashPrefix);
+  Cursor<String> getPendingStagedNameCursor();
+  Integer deleteUnreferencedFileBlob(String hash);
+  Integer deleteUnreferencedPackedFileBlob();
+  Cursor<String> getPackIdCursor();
+  List<FileBlob> getColdFileBlobList(String afterHash, Date accessedBefore, long maxFileSize, int limit);
+  Integer updateFileBlobPackLocation(FileBlob fileBlob);
+  Integer updateFileBlobAccessedDate(Collection<String> hashes);
+
+}
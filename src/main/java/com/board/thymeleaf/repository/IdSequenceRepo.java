@@ -0,0 +1,17 @@
+package com.board.thymeleaf.repository;
+
+import org.springframework.stereotype.Repository;
+
+import com.board.thymeleaf.config.BoardMapper;
+import com.board.thymeleaf.domain.IdSequence;
+
+@BoardMapper
+@Repository
+public interface IdSequenceRepo {
+
+  /**
+   * 시퀀스의 다음 값 조회 (채번 블록의 시작값)
+   */
+  Long nextBlock(IdSequence sequence);
+
+}
@@ -21,11 +21,6 @@ public interface OrganizationRepo {
    */
   Long findParentId(Long orgId);
   
-  /**
-   * 다음 조직 ID 조회 (새 조직 추가 시 사용)
-   */
-  Long getNextOrgId();
-  
   /**
    * 조직 추가
    */
@@ -11,7 +11,6 @@ import com.board.thymeleaf.domain.PasswordReset;
 @Repository
 public interface PasswordResetRepo {
   
-  Integer getNextPasswordResetSeq();
   void insertPasswordReset(PasswordReset passwordReset);
   PasswordReset getPasswordResetByToken(Map<String, Object> map);
   void updatePasswordResetUsed(Integer seq);
@@ -0,0 +1,51 @@
+package com.board.thymeleaf.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색어 분리 (bigram) 유틸리티 클래스
+ *
+ * 한국어는 조사/어미가 붙어 띄어쓰기 단위로는 검색이 어려우므로 형태소 분석 대신 2글자 단위(bigram)로 자릅니다.
+ * 예) "게시판입니다" -> 게시, 시판, 판입, 입니, 니다
+ * 문자/숫자가 아닌 글자는 구분자로 보며, 한 글자 단어는 그대로 사용합니다.
+ */
+public class BigramTokenizer {
+
+  private BigramTokenizer() {}
+
+  /**
+   * 토큰 목록 (중복 포함, 빈도 계산용)
+   */
+  public static List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>();
+    if (text == null || text.isEmpty()) {
+      return tokens;
+    }
+
+    String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    int start = -1;
+    for (int i = 0; i <= normalized.length(); i++) {
+      boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+      if (wordChar && start < 0) {
+        start = i;
+      } else if (!wordChar && start >= 0) {
+        addWordTokens(normalized, start, i, tokens);
+        start = -1;
+      }
+    }
+    return tokens;
+  }
+
+  private static void addWordTokens(String text, int start, int end, List<String> tokens) {
+    if (end - start == 1) {
+      tokens.add(text.substring(start, end));
+      return;
+    }
+    for (int i = start; i < end - 1; i++) {
+      tokens.add(text.substring(i, i + 2));
+    }
+  }
+}
@@ -0,0 +1,172 @@
+package com.board.thymeleaf.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.board.thymeleaf.domain.Board;
+import com.board.thymeleaf.event.BoardChangedEvent;
+import com.board.thymeleaf.repository.BoardRepo;
+import com.google.common.collect.ImmutableMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시글 검색 색인
+ *
+ * 게시판 변경 이벤트가 커밋되면 변경된 글만 다시 조회해 색인을 갱신합니다.
+ * 색인 갱신과 재구축은 단일 스레드(indexExecutor)에서 순서대로 처리하므로 재구축 중 들어온 변경도 유실되지 않고,
+ * 커밋 이후 트랜잭션 자원이 남아 있는 요청 스레드에서 DB를 조회하지 않습니다.
+ * 재구축은 seq 구간을 나누어 rebuildThreads개 스레드가 병렬로 읽고 분석한 뒤 새 색인으로 교체합니다.
+ */
+@Slf4j
+@Component
+public class BoardSearchIndex {
+
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+  private final BoardRepo boardRepo;
+  private final int rebuildThreads;
+  private final int batchSize;
+  private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "board-search-index"));
+
+  private volatile InvertedIndex index = new InvertedIndex();
+
+  public BoardSearchIndex(
+      BoardRepo boardRepo,
+      @Value("${board.search.rebuild-threads:3}") int rebuildThreads,
+      @Value("${board.search.batch-size:1000}") int batchSize) {
+    this.boardRepo = boardRepo;
+    this.rebuildThreads = rebuildThreads;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * 검색 (점수 내림차순 seq 목록, 최대 limit건)
+   */
+  public List<Integer> search(String query, int limit) {
+    return index.search(query, limit);
+  }
+
+  /**
+   * 변경된 글 색인 갱신 (seq가 없는 전체 변경은 건수 보정 등이므로 색인 대상 아님)
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBoardChanged(BoardChangedEvent event) {
+    if (event.isAll()) {
+      return;
+    }
+    List<Integer> seqs = new ArrayList<>(event.getSeqs());
+    indexExecutor.submit(() -> reindex(seqs));
+  }
+
+  /**
+   * 전체 재구축 요청 (완료 시점은 반환된 Future로 확인)
+   */
+  public Future<?> rebuild() {
+    return indexExecutor.submit(this::rebuildIndex);
+  }
+
+  public Map<String, Object> getStats() {
+    InvertedIndex current = index;
+    return ImmutableMap.<String, Object>builder()
+        .put("documentCount", current.getDocumentCount())
+        .put("tokenCount", current.getTokenCount())
+        .build();
+  }
+
+  /**
+   * 종료 시 대기 중인 갱신은 버리고 (재기동 시 재구축) 실행 중인 조회가 커넥션을 반납할 때까지 대기
+   */
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    indexExecutor.shutdownNow();
+    if (!indexExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      log.warn("검색 색인 작업이 종료되지 않았습니다.");
+    }
+  }
+
+  private void reindex(List<Integer> seqs) {
+    try {
+      Map<Integer, Board> boards = boardRepo.getBoardSearchSourceListBySeqs(seqs).stream()
+          .collect(Collectors.toMap(Board::getSeq, Function.identity()));
+      for (Integer seq : seqs) {
+        Board board = boards.get(seq);
+        if (board == null) {
+          index.remove(seq);
+        } else {
+          index.put(seq, InvertedIndex.analyze(board.getTitle(), board.getContent()));
+        }
+      }
+    } catch (Exception e) {
+      log.error("검색 색인 갱신 실패: {}", seqs, e);
+    }
+  }
+
+  private void rebuildIndex() {
+    long startedAt = System.currentTimeMillis();
+    Map<String, Object> range = boardRepo.getBoardSeqRange();
+    InvertedIndex rebuilt = new InvertedIndex();
+
+    if (range != null && range.get("MIN_SEQ") != null) {
+      long minSeq = ((Number) range.get("MIN_SEQ")).longValue();
+      long maxSeq = ((Number) range.get("MAX_SEQ")).longValue();
+      long span = (maxSeq - minSeq) / rebuildThreads + 1;
+
+      ExecutorService workers = Executors.newFixedThreadPool(rebuildThreads);
+      try {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < rebuildThreads; i++) {
+          long from = minSeq + span * i;
+          long to = Math.min(maxSeq, from + span - 1);
+          if (from <= maxSeq) {
+            futures.add(workers.submit(() -> buildRange(rebuilt, from, to)));
+          }
+        }
+        for (Future<?> future : futures) {
+          future.get();
+        }
+      } catch (Exception e) {
+        log.error("검색 색인 재구축 실패", e);
+        return;
+      } finally {
+        workers.shutdown();
+      }
+    }
+
+    index = rebuilt;
+    log.info("검색 색인 재구축 완료: {}건, {}ms", rebuilt.getDocumentCount(), System.currentTimeMillis() - startedAt);
+  }
+
+  /**
+   * seq 구간 [from, to]를 batchSize씩 읽어 분석 후 색인에 추가
+   */
+  private void buildRange(InvertedIndex target, long from, long to) {
+    long afterSeq = from - 1;
+    while (true) {
+      List<Board> boards = boardRepo.getBoardSearchSourceList(afterSeq, to, batchSize);
+      if (boards.isEmpty()) {
+        return;
+      }
+      Map<Integer, Map<String, Integer>> analyzed = new HashMap<>();
+      for (Board board : boards) {
+        analyzed.put(board.getSeq(), InvertedIndex.analyze(board.getTitle(), board.getContent()));
+      }
+      target.putAll(analyzed);
+      afterSeq = boards.get(boards.size() - 1).getSeq();
+    }
+  }
+}
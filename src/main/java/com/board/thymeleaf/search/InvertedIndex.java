@@ -0,0 +1,158 @@
+package com.board.thymeleaf.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 역색인 (토큰 -> 게시글별 가중 빈도)
+ *
+ * 제목 토큰은 본문보다 TITLE_WEIGHT배 가중치를 줍니다.
+ * 문서별 토큰도 함께 보관하여 수정/삭제 시 이전 토큰을 정확히 제거합니다.
+ * 검색은 읽기 잠금, 갱신은 쓰기 잠금으로 처리합니다.
+ */
+public class InvertedIndex {
+
+  private static final int TITLE_WEIGHT = 3;
+
+  private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+  private final Map<Integer, Map<String, Integer>> documents = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * 게시글 하나의 토큰별 가중 빈도 계산 (잠금 없이 호출 가능)
+   */
+  public static Map<String, Integer> analyze(String title, String content) {
+    Map<String, Integer> weights = new HashMap<>();
+    BigramTokenizer.tokenize(title).forEach(token -> weights.merge(token, TITLE_WEIGHT, Integer::sum));
+    BigramTokenizer.tokenize(content).forEach(token -> weights.merge(token, 1, Integer::sum));
+    return weights;
+  }
+
+  /**
+   * 게시글 등록/교체
+   */
+  public void put(int seq, Map<String, Integer> weights) {
+    lock.writeLock().lock();
+    try {
+      removeInternal(seq);
+      documents.put(seq, weights);
+      weights.forEach((token, weight) -> postings.computeIfAbsent(token, t -> new HashMap<>()).put(seq, weight));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 여러 게시글 등록 (재구축 시 잠금 횟수를 줄이기 위함)
+   */
+  public void putAll(Map<Integer, Map<String, Integer>> analyzed) {
+    lock.writeLock().lock();
+    try {
+      analyzed.forEach(this::put);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(int seq) {
+    lock.writeLock().lock();
+    try {
+      removeInternal(seq);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 검색어의 모든 토큰을 포함하는 게시글을 점수(가중 빈도 x idf) 내림차순으로 반환
+   * 점수가 같으면 최근 글(seq 큰 글)이 먼저입니다.
+   */
+  public List<Integer> search(String query, int limit) {
+    Set<String> tokens = new LinkedHashSet<>(BigramTokenizer.tokenize(query));
+    if (tokens.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    lock.readLock().lock();
+    try {
+      List<Map<Integer, Integer>> matched = new ArrayList<>();
+      for (String token : tokens) {
+        Map<Integer, Integer> posting = postings.get(token);
+        if (posting == null) {
+          return Collections.emptyList();
+        }
+        matched.add(posting);
+      }
+      matched.sort(Comparator.comparingInt(Map::size));
+
+      int documentCount = documents.size();
+      Map<Integer, Double> scores = new HashMap<>();
+      for (Integer seq : matched.get(0).keySet()) {
+        double score = 0;
+        for (Map<Integer, Integer> posting : matched) {
+          Integer weight = posting.get(seq);
+          if (weight == null) {
+            score = -1;
+            break;
+          }
+          score += weight * Math.log(1 + (double) documentCount / posting.size());
+        }
+        if (score >= 0) {
+          scores.put(seq, score);
+        }
+      }
+
+      return scores.entrySet().stream()
+          .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+              .thenComparing(Map.Entry.<Integer, Double>comparingByKey().reversed()))
+          .limit(limit)
+          .map(Map.Entry::getKey)
+          .collect(Collectors.toList());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int getDocumentCount() {
+    lock.readLock().lock();
+    try {
+      return documents.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int getTokenCount() {
+    lock.readLock().lock();
+    try {
+      return postings.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void removeInternal(int seq) {
+    Map<String, Integer> previous = documents.remove(seq);
+    if (previous == null) {
+      return;
+    }
+    for (String token : previous.keySet()) {
+      Map<Integer, Integer> posting = postings.get(token);
+      if (posting != null) {
+        posting.remove(seq);
+        if (posting.isEmpty()) {
+          postings.remove(token);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package com.board.thymeleaf.service.ifc;
+
+import com.board.thymeleaf.domain.BoardArchiveResult;
+
+public interface BoardArchiveService {
+  BoardArchiveResult archiveDeleted() throws Exception;
+}
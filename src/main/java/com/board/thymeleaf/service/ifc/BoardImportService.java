@@ -0,0 +1,9 @@
+package com.board.thymeleaf.service.ifc;
+
+import java.io.InputStream;
+
+import com.board.thymeleaf.domain.BoardImportResult;
+
+public interface BoardImportService {
+  BoardImportResult importBoard(InputStream in) throws Exception;
+}
@@ -5,18 +5,30 @@ import java.util.Map;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import com.board.thymeleaf.domain.BaseSO;
 import com.board.thymeleaf.domain.Board;
+import com.board.thymeleaf.domain.BoardDetail;
 import com.board.thymeleaf.domain.BoardFile;
-import com.board.thymeleaf.domain.PageBoard;
+import com.board.thymeleaf.domain.BoardSummary;
+import com.board.thymeleaf.domain.BoardThreadNode;
+import com.board.thymeleaf.domain.Pager;
+import com.board.thymeleaf.export.BoardExportWriter;
 
 public interface BoardService {
-  List<PageBoard> getBoardList(Map<String,Object> map) throws Exception;
+  Pager<BoardSummary> getBoardList(BaseSO so) throws Exception;
   void insertBoard(List<MultipartFile> fileList,Map<String, Object> map) throws Exception;
   Board getBoardView(Integer seq) throws Exception;
+  BoardDetail getBoardDetail(Integer seq) throws Exception;
+  void increaseViewCount(Integer seq) throws Exception;
+  long getViewCount(Board board) throws Exception;
   List<BoardFile> getBoardFileList(Integer boardSeq) throws Exception;
+  BoardFile getBoardFile(Integer fileSeq) throws Exception;
   void insertReplyBoard(List<MultipartFile> fileList, Map<String,Object> map) throws Exception;
   void updateBoard(List<MultipartFile> fileList, Map<String, Object> map) throws Exception;
   Board getParentBoard(Integer groupId) throws Exception;
+  BoardThreadNode getBoardThread(Integer groupId) throws Exception;
   void deleteBoard(Integer seq) throws Exception;
+  void reconcileBoardStat() throws Exception;
+  void exportBoard(BoardExportWriter writer, boolean includeDeleted) throws Exception;
    
 }
@@ -0,0 +1,29 @@
+package com.board.thymeleaf.service.ifc;
+
+import com.board.thymeleaf.domain.IdSequence;
+
+/**
+ * ID 채번 서비스
+ *
+ * NVL(MAX(seq) + 1, 1) 조회 대신 DB 시퀀스에서 블록 단위로 받아 메모리에서 채번합니다.
+ */
+public interface IdAllocatorService {
+
+  /**
+   * 다음 ID 채번
+   *
+   * @param sequence 채번 대상 시퀀스
+   * @return 중복되지 않는 ID
+   */
+  long nextId(IdSequence sequence);
+
+  /**
+   * 다음 ID 채번 (int 컬럼용)
+   */
+  int nextIntId(IdSequence sequence);
+
+  /**
+   * ID 여러 개를 한 번에 채번 (int 컬럼용, 일괄 등록 시 호출 횟수를 줄이기 위함)
+   */
+  int[] nextIntIds(IdSequence sequence, int count);
+}
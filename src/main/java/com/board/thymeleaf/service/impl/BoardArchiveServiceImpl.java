@@ -0,0 +1,134 @@
+package com.board.thymeleaf.service.impl;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.board.thymeleaf.domain.BoardArchiveResult;
+import com.board.thymeleaf.event.BoardChangedEvent;
+import com.board.thymeleaf.repository.BoardArchiveRepo;
+import com.board.thymeleaf.repository.BoardStatRepo;
+import com.board.thymeleaf.service.ifc.BoardArchiveService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 삭제 게시글 보관 이관
+ *
+ * 삭제된 글을 batchSize건씩 한 트랜잭션으로 board_archive/board_file_archive에 옮기고 원본 테이블에서 지웁니다.
+ * 하위 답글이 남아 있는 삭제 글은 답글 트리 유지를 위해 '삭제된 글'로 남기며,
+ * 하위 답글이 모두 이관되면 다음 batch에서 대상이 됩니다.
+ * 대상 글은 잠근 뒤 하위 답글이 없는지 다시 확인하므로, 조회와 이관 사이에 달린 답글의 부모는 옮기지 않습니다.
+ * 한 번 실행에 단계(글, 첨부파일)마다 최대 maxBatches개 batch만 처리하고 나머지는 다음 실행으로 넘깁니다.
+ */
+@Slf4j
+@Service
+public class BoardArchiveServiceImpl implements BoardArchiveService {
+
+  private final BoardArchiveRepo boardArchiveRepo;
+  private final BoardStatRepo boardStatRepo;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${board.archive.batch-size:500}")
+  private int batchSize;
+
+  @Value("${board.archive.max-batches:100}")
+  private int maxBatches;
+
+  public BoardArchiveServiceImpl(
+      BoardArchiveRepo boardArchiveRepo,
+      BoardStatRepo boardStatRepo,
+      ApplicationEventPublisher eventPublisher,
+      @Qualifier("boardTxManager") PlatformTransactionManager boardTxManager) {
+    this.boardArchiveRepo = boardArchiveRepo;
+    this.boardStatRepo = boardStatRepo;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = new TransactionTemplate(boardTxManager);
+  }
+
+  @Override
+  public BoardArchiveResult archiveDeleted() throws Exception {
+    long startedAt = System.currentTimeMillis();
+    int postCount = 0;
+    int fileCount = 0;
+    int batchCount = 0;
+
+    // 1. 삭제된 글 (첨부파일 포함)
+    for (int batches = 0; batches < maxBatches; batches++) {
+      int[] archived = transactionTemplate.execute(status -> archivePosts());
+      if (archived[0] == 0) {
+        break;
+      }
+      postCount += archived[0];
+      fileCount += archived[1];
+      batchCount++;
+    }
+
+    // 2. 남아 있는 글의 삭제된 첨부파일 (글 단계가 한도를 다 써도 따로 처리)
+    for (int batches = 0; batches < maxBatches; batches++) {
+      int archived = transactionTemplate.execute(status -> archiveFiles());
+      if (archived == 0) {
+        break;
+      }
+      fileCount += archived;
+      batchCount++;
+    }
+
+    BoardArchiveResult result = BoardArchiveResult.builder()
+        .postCount(postCount)
+        .fileCount(fileCount)
+        .batchCount(batchCount)
+        .elapsedMillis(System.currentTimeMillis() - startedAt)
+        .build();
+    if (batchCount > 0) {
+      log.info("삭제 게시글 이관 완료: {}", result);
+    }
+    return result;
+  }
+
+  /**
+   * 삭제 글 한 batch 이관 (이관한 글 수, 첨부파일 수)
+   *
+   * 남은 대상이 있어도 잠근 뒤 모두 제외되면 이번 실행은 끝내고 다음 실행에서 다시 확인합니다.
+   */
+  private int[] archivePosts() {
+    List<Integer> candidates = boardArchiveRepo.getArchivableBoardSeqs(batchSize);
+    if (candidates.isEmpty()) {
+      return new int[] {0, 0};
+    }
+    boardArchiveRepo.lockBoardsForArchive(candidates);
+    List<Integer> seqs = boardArchiveRepo.getArchivableBoardSeqsIn(candidates);
+    if (seqs.isEmpty()) {
+      return new int[] {0, 0};
+    }
+
+    boardArchiveRepo.archiveBoard(seqs);
+    int files = boardArchiveRepo.archiveBoardFileByBoardSeqs(seqs);
+    boardArchiveRepo.releaseFileBlobByBoardSeqs(seqs);
+    boardArchiveRepo.deleteBoardFileByBoardSeqs(seqs);
+    int posts = boardArchiveRepo.deleteBoard(seqs);
+
+    // 삭제 글은 total/delete 건수에 모두 포함되어 있으므로 함께 차감
+    boardStatRepo.increaseBoardStat(-posts, -posts);
+    eventPublisher.publishEvent(BoardChangedEvent.of(seqs));
+    return new int[] {posts, files};
+  }
+
+  /**
+   * 삭제된 첨부파일 한 batch 이관
+   */
+  private int archiveFiles() {
+    List<Integer> fileSeqs = boardArchiveRepo.getArchivableFileSeqs(batchSize);
+    if (fileSeqs.isEmpty()) {
+      return 0;
+    }
+    boardArchiveRepo.archiveBoardFile(fileSeqs);
+    return boardArchiveRepo.deleteBoardFile(fileSeqs);
+  }
+}
@@ -0,0 +1,324 @@
+package com.board.thymeleaf.service.impl;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.board.thymeleaf.domain.Board;
+import com.board.thymeleaf.domain.BoardFile;
+import com.board.thymeleaf.domain.BoardFileStatus;
+import com.board.thymeleaf.domain.BoardImportResult;
+import com.board.thymeleaf.domain.BoardImportRow;
+import com.board.thymeleaf.domain.IdSequence;
+import com.board.thymeleaf.event.BoardChangedEvent;
+import com.board.thymeleaf.repository.BoardFileRepo;
+import com.board.thymeleaf.repository.BoardRepo;
+import com.board.thymeleaf.repository.BoardStatRepo;
+import com.board.thymeleaf.service.ifc.BoardImportService;
+import com.board.thymeleaf.service.ifc.IdAllocatorService;
+import com.board.thymeleaf.util.ExcerptUtil;
+import com.board.thymeleaf.util.ThreadKeyUtil;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시글 일괄 등록
+ *
+ * JSON Lines를 한 줄씩 읽어 chunkSize 단위로 BATCH 세션에 모아 한 트랜잭션으로 등록합니다.
+ * 그룹/답글 번호/thread_key는 메모리에서 계산하므로 글마다 부모 글을 다시 조회하지 않습니다.
+ * 한 트랜잭션 안에서 SIMPLE/BATCH 세션을 섞을 수 없으므로 ID는 트랜잭션 밖에서 chunkSize개씩 미리 채번합니다.
+ * (남은 ID는 버려지므로 번호 중간이 빌 수 있음)
+ * 오류가 나면 해당 chunk만 롤백되고 앞서 커밋된 chunk는 남습니다.
+ */
+@Slf4j
+@Service
+public class BoardImportServiceImpl implements BoardImportService {
+
+  private static final String DEFAULT_USER_ID = "jsjeon";
+
+  private final SqlSessionTemplate batchSqlSession;
+  private final TransactionTemplate transactionTemplate;
+  private final IdAllocatorService idAllocatorService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ObjectMapper objectMapper;
+
+  @Value("${board.import.chunk-size:1000}")
+  private int chunkSize;
+
+  @Value("${board.list.excerpt-length:100}")
+  private int excerptLength;
+
+  public BoardImportServiceImpl(
+      @Qualifier("boardSqlSessionFactory") SqlSessionFactory sqlSessionFactory,
+      @Qualifier("boardTxManager") PlatformTransactionManager boardTxManager,
+      IdAllocatorService idAllocatorService,
+      ApplicationEventPublisher eventPublisher,
+      ObjectMapper objectMapper) {
+    this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    this.transactionTemplate = new TransactionTemplate(boardTxManager);
+    this.idAllocatorService = idAllocatorService;
+    this.eventPublisher = eventPublisher;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public BoardImportResult importBoard(InputStream in) throws Exception {
+    long startedAt = System.currentTimeMillis();
+    Map<String, ThreadPosition> positions = new HashMap<>();
+    IdBuffer boardIds = new IdBuffer(IdSequence.BOARD);
+    IdBuffer fileIds = new IdBuffer(IdSequence.BOARD_FILE);
+    Chunk chunk = new Chunk();
+    int lineNo = 0;
+    int postCount = 0;
+    int replyCount = 0;
+    int fileCount = 0;
+    int chunkCount = 0;
+
+    try (MappingIterator<BoardImportRow> rows = objectMapper.readerFor(BoardImportRow.class).readValues(in)) {
+      while (rows.hasNextValue()) {
+        BoardImportRow row = rows.nextValue();
+        lineNo++;
+
+        Board board = createBoard(row, boardIds.next(), positions, chunk, lineNo);
+        chunk.posts.add(board);
+        chunk.files.addAll(createBoardFiles(board, row.getFiles(), fileIds, lineNo));
+
+        postCount++;
+        replyCount += board.getDepth() > 0 ? 1 : 0;
+        fileCount += Optional.ofNullable(row.getFiles()).map(List::size).orElse(0);
+
+        if (chunk.posts.size() >= chunkSize) {
+          writeChunk(chunk);
+          chunkCount++;
+          chunk = new Chunk();
+        }
+      }
+    }
+
+    if (!chunk.posts.isEmpty()) {
+      writeChunk(chunk);
+      chunkCount++;
+    }
+
+    BoardImportResult result = BoardImportResult.builder()
+        .postCount(postCount)
+        .replyCount(replyCount)
+        .fileCount(fileCount)
+        .chunkCount(chunkCount)
+        .elapsedMillis(System.currentTimeMillis() - startedAt)
+        .build();
+    log.info("게시글 일괄 등록 완료: {}", result);
+    return result;
+  }
+
+  /**
+   * chunk 하나를 한 트랜잭션으로 등록 (BATCH 세션이므로 커밋 시 문장별로 한 번에 전송)
+   */
+  private void writeChunk(Chunk chunk) {
+    transactionTemplate.executeWithoutResult(status -> {
+      BoardRepo boardRepo = batchSqlSession.getMapper(BoardRepo.class);
+      BoardFileRepo boardFileRepo = batchSqlSession.getMapper(BoardFileRepo.class);
+      BoardStatRepo boardStatRepo = batchSqlSession.getMapper(BoardStatRepo.class);
+
+      chunk.posts.forEach(boardRepo::importBoard);
+      chunk.files.forEach(boardFileRepo::insertBoardFile);
+      chunk.parents.values().forEach(boardRepo::updateReplyCount);
+      boardStatRepo.increaseBoardStat(chunk.posts.size(), 0);
+
+      eventPublisher.publishEvent(BoardChangedEvent.of(chunk.posts.stream().map(Board::getSeq).collect(Collectors.toList())));
+    });
+  }
+
+  /**
+   * 입력 한 줄을 게시글로 변환하고 그룹/정렬 값 계산
+   */
+  private Board createBoard(BoardImportRow row, int seq, Map<String, ThreadPosition> positions, Chunk chunk, int lineNo) {
+    if (isBlank(row.getTitle()) || row.getContent() == null) {
+      throw new IllegalArgumentException(String.format("%d번째 줄: title, content는 필수입니다.", lineNo));
+    }
+
+    Date regDate = Optional.ofNullable(row.getRegDate()).orElseGet(Date::new);
+    String regId = Optional.ofNullable(row.getRegId()).filter(id -> !isBlank(id)).orElse(DEFAULT_USER_ID);
+
+    Board board = new Board();
+    board.setSeq(seq);
+    board.setTitle(row.getTitle());
+    board.setContent(row.getContent());
+    board.setExcerpt(ExcerptUtil.create(row.getContent(), excerptLength));
+    board.setDisplay(Optional.ofNullable(row.getDisplay()).orElse(true));
+    board.setDeleteYn(false);
+    board.setRegDate(regDate);
+    board.setRegId(regId);
+    board.setUpdDate(regDate);
+    board.setUpdId(regId);
+
+    if (isBlank(row.getParentSourceId())) {
+      board.setGroupId(board.getSeq());
+      board.setGroupOrder(0);
+      board.setThreadKey(ThreadKeyUtil.ROOT_KEY);
+      board.setDepth(0);
+    } else {
+      ThreadPosition parent = positions.get(row.getParentSourceId());
+      if (parent == null) {
+        throw new IllegalArgumentException(
+            String.format("%d번째 줄: 부모 글(%s)이 앞 줄에 없습니다.", lineNo, row.getParentSourceId()));
+      }
+      if (parent.depth >= ThreadKeyUtil.MAX_DEPTH) {
+        throw new IllegalArgumentException(
+            String.format("%d번째 줄: 답글은 %d단계까지만 달 수 있습니다.", lineNo, ThreadKeyUtil.MAX_DEPTH));
+      }
+      int replyNo = ++parent.replyCount;
+      board.setGroupId(parent.groupId);
+      board.setGroupOrder(replyNo);
+      board.setThreadKey(ThreadKeyUtil.childKey(parent.threadKey, replyNo));
+      board.setDepth(parent.depth + 1);
+      chunk.parents.put(parent.seq, parent.toReplyCountBoard());
+    }
+
+    if (!isBlank(row.getSourceId())
+        && positions.putIfAbsent(row.getSourceId(), new ThreadPosition(board)) != null) {
+      throw new IllegalArgumentException(String.format("%d번째 줄: 중복된 sourceId(%s)입니다.", lineNo, row.getSourceId()));
+    }
+    return board;
+  }
+
+  /**
+   * 첨부파일 메타데이터 변환 (upload_path/upload_name은 검증 후 정규화해 기록)
+   */
+  private List<BoardFile> createBoardFiles(Board board, List<BoardFile> files, IdBuffer fileIds, int lineNo) {
+    List<BoardFile> result = new ArrayList<>();
+    if (files == null) {
+      return result;
+    }
+    for (BoardFile file : files) {
+      BoardFile boardFile = new BoardFile();
+      boardFile.setFileSeq(fileIds.next());
+      boardFile.setBoardSeq(board.getSeq());
+      boardFile.setFileName(file.getFileName());
+      boardFile.setFileSize(file.getFileSize());
+      boardFile.setUploadName(validateUploadName(file.getUploadName(), lineNo));
+      boardFile.setUploadPath(normalizeUploadPath(file.getUploadPath(), lineNo));
+      boardFile.setStatus(BoardFileStatus.STORED);
+      boardFile.setDeleteYn(false);
+      boardFile.setRegDate(board.getRegDate());
+      boardFile.setRegId(board.getRegId());
+      boardFile.setUpdDate(board.getRegDate());
+      boardFile.setUpdId(board.getRegId());
+      result.add(boardFile);
+    }
+    return result;
+  }
+
+  /**
+   * 저장 파일명 검증 (디렉터리 구분자, ".", ".." 불가)
+   */
+  private String validateUploadName(String uploadName, int lineNo) {
+    if (isBlank(uploadName) || uploadName.indexOf('/') >= 0 || uploadName.indexOf('\\') >= 0 || uploadName.indexOf('\0') >= 0
+        || uploadName.equals(".") || uploadName.equals("..")) {
+      throw new IllegalArgumentException(String.format("%d번째 줄: 첨부파일 uploadName(%s)이 올바르지 않습니다.", lineNo, uploadName));
+    }
+    return uploadName;
+  }
+
+  /**
+   * 저장 경로를 upload 경로 기준 상대 경로로 정규화 ("./board/" -> "board", 절대 경로나 상위 경로는 불가)
+   */
+  private String normalizeUploadPath(String uploadPath, int lineNo) {
+    String value = Optional.ofNullable(uploadPath).orElse("");
+    if (value.indexOf('\\') >= 0 || value.indexOf('\0') >= 0) {
+      throw invalidUploadPath(uploadPath, lineNo);
+    }
+    Path path = Paths.get(value).normalize();
+    if (path.isAbsolute() || path.startsWith("..")) {
+      throw invalidUploadPath(uploadPath, lineNo);
+    }
+    return StreamSupport.stream(path.spliterator(), false)
+        .map(Path::toString)
+        .filter(name -> !name.isEmpty())
+        .collect(Collectors.joining("/"));
+  }
+
+  private IllegalArgumentException invalidUploadPath(String uploadPath, int lineNo) {
+    return new IllegalArgumentException(String.format("%d번째 줄: 첨부파일 uploadPath(%s)가 올바르지 않습니다.", lineNo, uploadPath));
+  }
+
+  private boolean isBlank(String value) {
+    return value == null || value.trim().isEmpty();
+  }
+
+  /**
+   * 답글 위치 계산용 글 정보 (본문은 보관하지 않음)
+   */
+  private static class ThreadPosition {
+    private final int seq;
+    private final int groupId;
+    private final String threadKey;
+    private final int depth;
+    private int replyCount;
+
+    private ThreadPosition(Board board) {
+      this.seq = board.getSeq();
+      this.groupId = board.getGroupId();
+      this.threadKey = board.getThreadKey();
+      this.depth = board.getDepth();
+    }
+
+    private Board toReplyCountBoard() {
+      Board board = new Board();
+      board.setSeq(seq);
+      board.setReplyCount(replyCount);
+      return board;
+    }
+  }
+
+  /**
+   * chunkSize개씩 미리 받아 둔 ID
+   */
+  private class IdBuffer {
+    private final IdSequence sequence;
+    private int[] ids = new int[0];
+    private int position;
+
+    private IdBuffer(IdSequence sequence) {
+      this.sequence = sequence;
+    }
+
+    private int next() {
+      if (position == ids.length) {
+        ids = idAllocatorService.nextIntIds(sequence, chunkSize);
+        position = 0;
+      }
+      return ids[position++];
+    }
+  }
+
+  /**
+   * 한 트랜잭션으로 등록할 묶음
+   */
+  private static class Chunk {
+    private final List<Board> posts = new ArrayList<>();
+    private final List<BoardFile> files = new ArrayList<>();
+    private final Map<Integer, Board> parents = new LinkedHashMap<>();
+  }
+}
@@ -1,28 +1,59 @@
 package com.board.thymeleaf.service.impl;
 
-import java.io.File;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.IOException;
+import java.text.Normalizer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.board.thymeleaf.cache.BoardDetailCache;
+import com.board.thymeleaf.cache.BoardListCache;
+import com.board.thymeleaf.counter.BoardViewCounter;
+import com.board.thymeleaf.domain.BaseSO;
 import com.board.thymeleaf.domain.Board;
+import com.board.thymeleaf.domain.BoardCursor;
+import com.board.thymeleaf.domain.BoardDetail;
 import com.board.thymeleaf.domain.BoardFile;
-import com.board.thymeleaf.domain.PageBoard;
+import com.board.thymeleaf.domain.BoardFileStatus;
+import com.board.thymeleaf.domain.BoardStat;
+import com.board.thymeleaf.domain.BoardSummary;
+import com.board.thymeleaf.domain.BoardThreadNode;
+import com.board.thymeleaf.domain.IdSequence;
+import com.board.thymeleaf.domain.Pager;
+import com.board.thymeleaf.event.BoardChangedEvent;
+import com.board.thymeleaf.event.BoardFilesRegisteredEvent;
+import com.board.thymeleaf.export.BoardExportWriter;
 import com.board.thymeleaf.repository.BoardFileRepo;
 import com.board.thymeleaf.repository.BoardRepo;
+import com.board.thymeleaf.repository.BoardStatRepo;
+import com.board.thymeleaf.search.BoardSearchIndex;
 import com.board.thymeleaf.service.ifc.BoardService;
+import com.board.thymeleaf.service.ifc.IdAllocatorService;
+import com.board.thymeleaf.storage.BoardFileStorage;
+import com.board.thymeleaf.storage.ResumableUploadStore;
+import com.board.thymeleaf.storage.StagedFile;
+import com.board.thymeleaf.util.ExcerptUtil;
+import com.board.thymeleaf.util.ThreadKeyUtil;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
@@ -37,32 +68,66 @@ import lombok.extern.slf4j.Slf4j;
 public class BoardServiceImpl implements BoardService {
 
   private static final String DEFAULT_USER_ID = "jsjeon";
-  private static final String DEFAULT_UPLOAD_PATH = "board";
-  private static final String TEMP_FILE_PREFIX = "777";
   private static final int DEFAULT_GROUP_ORDER = 0;
   private static final int DEFAULT_DEPTH = 0;
+  /** bigram 색인으로 찾을 수 있는 최소 검색어 길이 (더 짧으면 LIKE 검색) */
+  private static final int MIN_INDEX_QUERY_LENGTH = 2;
 
   private final BoardRepo boardRepo;
   private final BoardFileRepo boardFileRepo;
+  private final BoardStatRepo boardStatRepo;
+  private final IdAllocatorService idAllocatorService;
+  private final BoardListCache boardListCache;
+  private final BoardDetailCache boardDetailCache;
+  private final BoardViewCounter boardViewCounter;
+  private final BoardSearchIndex boardSearchIndex;
+  private final BoardFileStorage boardFileStorage;
+  private final ResumableUploadStore resumableUploadStore;
+  private final ApplicationEventPublisher eventPublisher;
+  private final PlatformTransactionManager boardTxManager;
   private final ObjectMapper objectMapper = new ObjectMapper();
 
-  @Value("${path.upload}")
-  private String UPLOAD_PATH;
+  @Value("${board.list.excerpt-length:100}")
+  private int excerptLength;
 
-  @Transactional(readOnly = true)
+  @Value("${board.search.max-results:1000}")
+  private int searchMaxResults;
+
+  /**
+   * 게시글 목록 (캐시 적중 시 커넥션을 잡지 않도록 트랜잭션을 새로 시작하지 않음, 목록과 건수는 따로 읽어도 됨)
+   */
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   @Override
-  public List<PageBoard> getBoardList(Map<String, Object> map) throws Exception {
-    return boardRepo.getBoardList(map);
+  public Pager<BoardSummary> getBoardList(BaseSO so) throws Exception {
+    if (so.hasQuery()) {
+      return createSearchPager(so);
+    }
+    if (so.isKeyset()) {
+      return createCursorPager(boardRepo.getBoardListByCursor(so), so);
+    }
+    return boardListCache.get(so, () -> Pager.formList(boardRepo.getBoardList(so), boardStatRepo.getBoardStat().getTotalCount()));
   }
 
-  @Transactional(readOnly = false)
+  /**
+   * 게시글 등록
+   *
+   * 첨부파일은 커넥션을 잡기 전에 staging에 저장하고, 게시글과 board_file(PENDING) 등록만 트랜잭션으로 처리합니다.
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   @Override
   public void insertBoard(List<MultipartFile> fileList, Map<String, Object> map) throws Exception {
-    Board board = convertToBoard(map);
-    setDefaultBoardValues(board);
-    boardRepo.insertBoard(board);
-
-    uploadFiles(board.getSeq(), fileList, map);
+    List<StagedFile> stagedFiles = stageFiles(fileList, map);
+    executeWithStagedFiles(stagedFiles, () -> {
+      Board board = convertToBoard(map);
+      setDefaultBoardValues(board);
+      board.setExcerpt(ExcerptUtil.create(board.getContent(), excerptLength));
+      board.setSeq(idAllocatorService.nextIntId(IdSequence.BOARD));
+      boardRepo.insertBoard(board);
+      boardStatRepo.increaseBoardStat(1, 0);
+
+      registerFiles(board.getSeq(), stagedFiles, map);
+      eventPublisher.publishEvent(BoardChangedEvent.of(board.getSeq()));
+    });
   }
 
   @Transactional(readOnly = true)
@@ -71,62 +136,267 @@ public class BoardServiceImpl implements BoardService {
     return boardRepo.getBoardView(seq);
   }
 
+  /**
+   * 게시글 상세 (캐시 적중 시 커넥션을 잡지 않도록 트랜잭션을 새로 시작하지 않음)
+   */
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  @Override
+  public BoardDetail getBoardDetail(Integer seq) throws Exception {
+    return boardDetailCache.get(seq, () -> boardRepo.getBoardDetail(seq));
+  }
+
+  /**
+   * 조회수 증가 (메모리에 모았다가 BoardViewCounter가 주기적으로 반영)
+   */
+  @Transactional(propagation = Propagation.SUPPORTS)
+  @Override
+  public void increaseViewCount(Integer seq) throws Exception {
+    boardViewCounter.increment(seq);
+  }
+
+  /**
+   * 현재 조회수 (DB 값 + 미반영분)
+   */
+  @Transactional(propagation = Propagation.SUPPORTS)
+  @Override
+  public long getViewCount(Board board) throws Exception {
+    return board.getHits() + boardViewCounter.getPending(board.getSeq());
+  }
+
   @Transactional(readOnly = true)
   @Override
   public Board getParentBoard(Integer groupId) throws Exception {
     return boardRepo.getParentBoard(groupId);
   }
 
+  /**
+   * 글 묶음(group) 전체를 답글 트리로 조회
+   *
+   * THREAD_KEY 순서는 트리의 전위 순회 순서이므로, 조상 노드를 스택에 두고 depth만 비교해 한 번에 조립합니다.
+   * 삭제된 답글은 하위 답글 연결을 위해 제목만 '삭제된 글'로 남기며, 원글이 없거나 삭제된 묶음은 없는 것으로 봅니다.
+   */
+  @Transactional(readOnly = true)
+  @Override
+  public BoardThreadNode getBoardThread(Integer groupId) throws Exception {
+    List<BoardThreadNode> rows = boardRepo.getBoardThread(groupId);
+    BoardThreadNode root = rows.isEmpty() ? null : rows.get(0);
+    if (root == null || !groupId.equals(root.getSeq()) || !ThreadKeyUtil.ROOT_KEY.equals(root.getThreadKey()) || root.isDeleteYn()) {
+      throw new NoSuchElementException("게시글이 존재하지 않습니다: " + groupId);
+    }
+
+    root.setHits(root.getHits() + boardViewCounter.getPending(root.getSeq()));
+    Deque<BoardThreadNode> ancestors = new ArrayDeque<>();
+    ancestors.push(root);
+    for (BoardThreadNode node : rows.subList(1, rows.size())) {
+      while (ancestors.size() > 1 && ancestors.peek().getDepth() >= node.getDepth()) {
+        ancestors.pop();
+      }
+      node.setHits(node.getHits() + boardViewCounter.getPending(node.getSeq()));
+      ancestors.peek().getReplies().add(node);
+      ancestors.push(node);
+    }
+    return root;
+  }
+
   @Transactional(readOnly = true)
   @Override
   public List<BoardFile> getBoardFileList(Integer boardSeq) throws Exception {
     return boardFileRepo.getBoardFileList(boardSeq);
   }
 
-  @Transactional(readOnly = false)
+  /**
+   * 다운로드할 첨부파일 (저장이 끝난 파일만)
+   */
+  @Transactional(readOnly = true)
+  @Override
+  public BoardFile getBoardFile(Integer fileSeq) throws Exception {
+    BoardFile boardFile = boardFileRepo.getBoardFile(fileSeq);
+    if (boardFile == null) {
+      throw new IllegalArgumentException("존재하지 않는 첨부파일입니다: " + fileSeq);
+    }
+    if (boardFile.getStatus() != BoardFileStatus.STORED) {
+      throw new IllegalStateException("저장이 완료되지 않은 첨부파일입니다: " + fileSeq);
+    }
+    return boardFile;
+  }
+
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   @Override
   public void insertReplyBoard(List<MultipartFile> fileList, Map<String, Object> map) throws Exception {
     String parentSeqStr = (String) map.get("parentSeq");
     if (parentSeqStr == null) {
       throw new IllegalArgumentException("parentSeq는 필수입니다.");
     }
+    Integer parentSeq = Integer.parseInt(parentSeqStr);
+
+    List<StagedFile> stagedFiles = stageFiles(fileList, map);
+    executeWithStagedFiles(stagedFiles, () -> {
+      // 부모 글의 답글 번호만 증가시키고 (형제 글은 갱신하지 않음) 증가된 번호로 thread_key 생성
+      Board parentBoard = boardRepo.increaseReplyCount(parentSeq) > 0 ? boardRepo.getBoardView(parentSeq) : null;
+      if (parentBoard == null) {
+        throw new IllegalArgumentException("부모 게시글이 존재하지 않습니다.");
+      }
 
-    Board parentBoard = boardRepo.getBoardView(Integer.parseInt(parentSeqStr));
-    if (parentBoard == null) {
-      throw new IllegalArgumentException("부모 게시글이 존재하지 않습니다.");
-    }
-
-    updateGroupOrder(parentBoard.getGroupId(), parentBoard.getGroupOrder());
-    setDefaultReplyBoardValues(map);
-    boardRepo.insertReplyBoard(map);
-    
-    // insertReplyBoard 후 selectKey로 seq가 map에 설정됨
-    Integer replySeq = (Integer) map.get("seq");
-    if (replySeq != null) {
-      uploadFiles(replySeq, fileList, map);
-    }
+      setDefaultReplyBoardValues(map);
+      setReplyThreadValues(map, parentBoard);
+      map.put("excerpt", ExcerptUtil.create((String) map.get("content"), excerptLength));
+      Integer replySeq = idAllocatorService.nextIntId(IdSequence.BOARD);
+      map.put("seq", replySeq);
+      boardRepo.insertReplyBoard(map);
+      boardStatRepo.increaseBoardStat(1, 0);
+
+      registerFiles(replySeq, stagedFiles, map);
+      eventPublisher.publishEvent(BoardChangedEvent.of(replySeq));
+    });
   }
 
-  @Transactional(readOnly = false)
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   @Override
   public void updateBoard(List<MultipartFile> fileList, Map<String, Object> map) throws Exception {
-    Board board = convertToBoard(map);
-    Date now = new Date();
-    board.setUpdDate(now);
-    board.setUpdId(DEFAULT_USER_ID);
-    boardRepo.updateBoard(board);
-
-    // 파일 삭제 처리
-    processFileRemoval(map);
-    
-    // 새 파일 업로드 처리
-    uploadFiles(board.getSeq(), fileList, map);
+    List<StagedFile> stagedFiles = stageFiles(fileList, map);
+    executeWithStagedFiles(stagedFiles, () -> {
+      Board board = convertToBoard(map);
+      Date now = new Date();
+      board.setUpdDate(now);
+      board.setUpdId(DEFAULT_USER_ID);
+      board.setExcerpt(ExcerptUtil.create(board.getContent(), excerptLength));
+      boardRepo.updateBoard(board);
+
+      // 파일 삭제 처리
+      processFileRemoval(map);
+
+      // 새 파일 등록
+      registerFiles(board.getSeq(), stagedFiles, map);
+      eventPublisher.publishEvent(BoardChangedEvent.of(board.getSeq()));
+    });
   }
 
   @Transactional(readOnly = false)
   @Override
   public void deleteBoard(Integer seq) throws Exception {
-    boardRepo.deleteBoard(seq);
+    // 삭제된 글도 목록에 '삭제된 글'로 남으므로 total_count는 유지
+    if (boardRepo.deleteBoard(seq) > 0) {
+      boardStatRepo.increaseBoardStat(0, 1);
+      eventPublisher.publishEvent(BoardChangedEvent.of(seq));
+    }
+  }
+
+  @Transactional(readOnly = false)
+  @Override
+  public void reconcileBoardStat() throws Exception {
+    BoardStat before = boardStatRepo.getBoardStat();
+    boardStatRepo.reconcileBoardStat();
+    BoardStat after = boardStatRepo.getBoardStat();
+
+    if (before.getTotalCount() != after.getTotalCount() || before.getDeleteCount() != after.getDeleteCount()) {
+      log.warn("게시판 건수 보정: total {} -> {}, delete {} -> {}",
+          before.getTotalCount(), after.getTotalCount(), before.getDeleteCount(), after.getDeleteCount());
+      eventPublisher.publishEvent(BoardChangedEvent.all());
+    }
+  }
+
+  /**
+   * 전체 게시글 내보내기
+   *
+   * Cursor로 한 건씩 읽어 바로 출력하므로 조회가 끝날 때까지 트랜잭션(커넥션)을 유지합니다.
+   * 삭제된 글은 includeDeleted일 때만 포함합니다.
+   */
+  @Transactional(readOnly = true)
+  @Override
+  public void exportBoard(BoardExportWriter writer, boolean includeDeleted) throws Exception {
+    try (Cursor<BoardDetail> cursor = boardRepo.getBoardExportCursor(includeDeleted)) {
+      for (BoardDetail board : cursor) {
+        writer.write(board);
+      }
+    }
+    writer.flush();
+  }
+
+  /**
+   * 검색 결과를 Pager로 변환
+   *
+   * 색인에서 점수 순 seq 목록(최대 searchMaxResults건)을 받아 해당 페이지의 글만 조회하고 점수 순서로 다시 정렬합니다.
+   * 한 글자 검색어는 bigram 색인으로 찾을 수 없으므로 제목/본문 LIKE로 최근 글 순으로 찾습니다.
+   * 최대 건수를 넘으면 잘라내고 총 건수가 근사치임을 표시합니다. (approximate)
+   * 색인 반영 전에 삭제된 글은 조회되지 않으므로 건너뜁니다.
+   */
+  private Pager<BoardSummary> createSearchPager(BaseSO so) {
+    String query = so.getQuery();
+    List<Integer> seqs = query.codePointCount(0, query.length()) < MIN_INDEX_QUERY_LENGTH
+        ? boardRepo.getBoardSeqsByKeyword(ImmutableMap.of("keyword", toLikeKeyword(query), "limit", searchMaxResults + 1))
+        : boardSearchIndex.search(query, searchMaxResults + 1);
+    boolean approximate = seqs.size() > searchMaxResults;
+    if (approximate) {
+      seqs = seqs.subList(0, searchMaxResults);
+    }
+    int totalCount = seqs.size();
+    int from = Math.min((so.getPage() - 1) * so.getSize(), totalCount);
+    List<Integer> pageSeqs = seqs.subList(from, Math.min(from + so.getSize(), totalCount));
+
+    List<BoardSummary> contents = new ArrayList<>();
+    if (!pageSeqs.isEmpty()) {
+      Map<Integer, BoardSummary> rows = boardRepo.getBoardListBySeqs(ImmutableMap.of("seqs", pageSeqs, BaseSO.VAR_EXCERPT, so.get(BaseSO.VAR_EXCERPT)))
+          .stream()
+          .collect(Collectors.toMap(BoardSummary::getSeq, row -> row));
+      for (int i = 0; i < pageSeqs.size(); i++) {
+        BoardSummary row = rows.get(pageSeqs.get(i));
+        if (row != null) {
+          row.setRnum(totalCount - from - i);
+          contents.add(row);
+        }
+      }
+    }
+
+    return Pager.<BoardSummary>builder()
+        .contents(contents)
+        .totalCount(totalCount)
+        .currentPage(so.getPage())
+        .totalPage(Math.max(1, (int) Math.ceil(totalCount * 1.0 / so.getSize())))
+        .approximate(approximate)
+        .build();
+  }
+
+  /**
+   * LIKE 검색어 (색인과 같이 NFKC 정규화/소문자로 바꾸고 %, _, \ 는 문자 그대로 찾도록 escape)
+   */
+  private String toLikeKeyword(String query) {
+    String normalized = Normalizer.normalize(query, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    return normalized.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+
+  /**
+   * keyset 조회 결과를 Pager로 변환
+   *
+   * size + 1건을 조회했으므로 초과분이 있으면 조회 방향으로 다음 페이지가 존재합니다.
+   * prev 방향은 역순으로 조회되므로 화면 순서로 뒤집습니다.
+   */
+  private Pager<BoardSummary> createCursorPager(List<BoardSummary> rows, BaseSO so) {
+    int size = so.getSize();
+    boolean hasMore = rows.size() > size;
+    List<BoardSummary> contents = new ArrayList<>(rows.subList(0, Math.min(size, rows.size())));
+    if (so.isPrevDirection()) {
+      Collections.reverse(contents);
+    }
+
+    String nextCursor = null;
+    String prevCursor = null;
+    if (!contents.isEmpty()) {
+      BoardSummary first = contents.get(0);
+      BoardSummary last = contents.get(contents.size() - 1);
+      if (so.isPrevDirection() || hasMore) {
+        nextCursor = BoardCursor.encode(last.getGroupId(), last.getThreadKey());
+      }
+      if (so.isPrevDirection() ? hasMore : so.hasCursor()) {
+        prevCursor = BoardCursor.encode(first.getGroupId(), first.getThreadKey());
+      }
+    }
+
+    return Pager.<BoardSummary>builder()
+        .contents(contents)
+        .keyset(true)
+        .nextCursor(nextCursor)
+        .prevCursor(prevCursor)
+        .build();
   }
 
   /**
@@ -142,6 +412,7 @@ public class BoardServiceImpl implements BoardService {
   private void setDefaultBoardValues(Board board) {
     Date now = new Date();
     board.setGroupOrder(DEFAULT_GROUP_ORDER);
+    board.setThreadKey(ThreadKeyUtil.ROOT_KEY);
     board.setDepth(DEFAULT_DEPTH);
     board.setDeleteYn(false);
     board.setRegDate(now);
@@ -163,32 +434,69 @@ public class BoardServiceImpl implements BoardService {
   }
 
   /**
-   * 파일 업로드 처리
+   * 답글 위치 설정 (부모 글의 그룹, 답글 번호, thread_key)
    */
-  private void uploadFiles(Integer boardSeq, List<MultipartFile> fileList, Map<String, Object> map) throws Exception {
-    List<MultipartFile> validFileList = filterValidFiles(fileList);
-    if (validFileList.isEmpty()) { 
-      return;
-    }
+  private void setReplyThreadValues(Map<String, Object> map, Board parentBoard) {
+    int replyNo = parentBoard.getReplyCount();
+    map.put("groupId", parentBoard.getGroupId());
+    map.put("groupOrder", replyNo);
+    map.put("threadKey", ThreadKeyUtil.childKey(parentBoard.getThreadKey(), replyNo));
+    map.put("depth", parentBoard.getDepth() + 1);
+  }
 
-    List<Map<String, Object>> fileInfoList = parseFileInfoList(map, validFileList.size());
-    Map<String, Object> baseFileInfo = parseBaseFileInfo(map);
+  /**
+   * multipart 파일은 staging에 쓰고, 분할 업로드(uploadIds)는 완료 처리해 같은 순서로 이어 붙임
+   */
+  private List<StagedFile> stageFiles(List<MultipartFile> fileList, Map<String, Object> map) throws IOException {
+    List<StagedFile> stagedFiles = boardFileStorage.stage(fileList);
+    try {
+      stagedFiles.addAll(resumableUploadStore.complete(parseUploadIds(map)));
+    } catch (RuntimeException e) {
+      boardFileStorage.discard(stagedFiles);
+      throw e;
+    }
+    return stagedFiles;
+  }
 
-    List<Map<String, Object>> fileUploadParams = createFileUploadParams(boardSeq, validFileList, fileInfoList, baseFileInfo);
-    
-    processFileUploads(fileUploadParams);
+  /**
+   * 등록 트랜잭션 실행 (실패 시 staging 파일 삭제)
+   */
+  private void executeWithStagedFiles(List<StagedFile> stagedFiles, Runnable action) {
+    try {
+      new TransactionTemplate(boardTxManager).executeWithoutResult(status -> action.run());
+    } catch (RuntimeException e) {
+      boardFileStorage.discard(stagedFiles);
+      throw e;
+    }
   }
 
   /**
-   * 유효한 파일만 필터링
+   * staging 파일을 file_blob/board_file에 등록 (커밋 후 BoardFileStorage가 새 내용만 저장소로 옮김)
    */
-  private List<MultipartFile> filterValidFiles(List<MultipartFile> fileList) {
-    if (fileList == null || fileList.isEmpty()) {
-      return new ArrayList<>();
+  private void registerFiles(Integer boardSeq, List<StagedFile> stagedFiles, Map<String, Object> map) {
+    if (stagedFiles.isEmpty()) {
+      return;
     }
-    return fileList.stream()
-        .filter(file -> file != null && !file.isEmpty())
-        .collect(Collectors.toList());
+
+    List<Map<String, Object>> fileInfoList = parseFileInfoList(map, stagedFiles.size());
+    Map<String, Object> baseFileInfo = parseBaseFileInfo(map);
+    int[] fileSeqs = idAllocatorService.nextIntIds(IdSequence.BOARD_FILE, stagedFiles.size());
+
+    List<BoardFile> boardFiles = new ArrayList<>(stagedFiles.size());
+    for (int i = 0; i < stagedFiles.size(); i++) {
+      StagedFile stagedFile = stagedFiles.get(i);
+      Map<String, Object> params = ImmutableMap.<String, Object>builder()
+          .putAll(baseFileInfo)
+          .putAll(fileInfoList.get(i))
+          .put("seq", boardSeq)
+          .put("userId", DEFAULT_USER_ID)
+          .build();
+      BoardFileStatus status = boardFileStorage.register(stagedFile);
+      boardFiles.add(createBoardFile(fileSeqs[i], params, stagedFile, status));
+    }
+    // 파일 수와 관계없이 board_file은 한 문장으로 등록
+    boardFileRepo.insertBoardFileList(boardFiles);
+    eventPublisher.publishEvent(new BoardFilesRegisteredEvent(stagedFiles));
   }
 
   /**
@@ -204,6 +512,21 @@ public class BoardServiceImpl implements BoardService {
         .orElseGet(() -> createEmptyFileInfoList(fileCount));
   }
 
+  /**
+   * 분할 업로드 ID 목록 파싱 (JSON 배열 문자열)
+   */
+  private List<String> parseUploadIds(Map<String, Object> map) {
+    String json = Optional.ofNullable(map).map(m -> (String) m.get("uploadIds")).orElse("");
+    if (json.trim().isEmpty()) {
+      return Collections.emptyList();
+    }
+    try {
+      return objectMapper.readValue(json, new TypeReference<List<String>>() {});
+    } catch (Exception e) {
+      throw new IllegalArgumentException("uploadIds 형식이 올바르지 않습니다.", e);
+    }
+  }
+
   /**
    * JSON 문자열을 List로 파싱
    */
@@ -250,122 +573,22 @@ public class BoardServiceImpl implements BoardService {
   }
 
   /**
-   * 파일 업로드 파라미터 생성
-   */
-  private List<Map<String, Object>> createFileUploadParams(
-      Integer boardSeq,
-      List<MultipartFile> validFileList,
-      List<Map<String, Object>> fileInfoList,
-      Map<String, Object> baseFileInfo) {
-    
-    return IntStream.range(0, validFileList.size())
-        .mapToObj(i -> {
-          MultipartFile file = validFileList.get(i);
-          Map<String, Object> fileInfo = fileInfoList.get(i);
-          return ImmutableMap.<String, Object>builder()
-              .putAll(baseFileInfo)
-              .putAll(fileInfo)
-              .put("seq", boardSeq)
-              .put("file", file)
-              .put("userId", DEFAULT_USER_ID)
-              .build();
-        })
-        .collect(Collectors.toList());
-  }
-
-  /**
-   * 파일 업로드 처리 및 검증
-   */
-  private void processFileUploads(List<Map<String, Object>> fileUploadParams) throws Exception {
-    for (Map<String, Object> params : fileUploadParams) {
-      Map<String, Object> result = uploadFile(params);
-      if (!Boolean.TRUE.equals(result.get("result"))) {
-        String fileName = extractFileNameFromResult(result);
-        throw new RuntimeException("파일 업로드 실패: " + fileName);
-      }
-    }
-  }
-
-  /**
-   * 결과에서 파일명 추출
-   */
-  private String extractFileNameFromResult(Map<String, Object> result) {
-    Map<String, Object> fileInfo = (Map<String, Object>) result.get("file");
-    return fileInfo != null ? (String) fileInfo.get("fileName") : "알 수 없는 파일";
-  }
-
-  /**
-   * 단일 파일 업로드 처리
-   */
-  private Map<String, Object> uploadFile(Map<String, Object> params) {
-    MultipartFile file = (MultipartFile) params.get("file");
-    if (file == null) {
-      return createFailureResult("파일이 null입니다.", null, null);
-    }
-
-    String fileName = file.getOriginalFilename();
-    if (fileName == null || fileName.isEmpty()) {
-      return createFailureResult("파일명이 없습니다.", null, null);
-    }
-
-    Integer fileSize = ((Long) file.getSize()).intValue();
-    String uploadPath = Optional.ofNullable((String) params.get("path"))
-        .filter(path -> !path.isEmpty())
-        .orElse(DEFAULT_UPLOAD_PATH);
-
-    try {
-      String uploadName = saveFileToDisk(file, uploadPath, fileName);
-      BoardFile boardFile = createBoardFile(params, fileName, fileSize, uploadPath, uploadName);
-      boardFileRepo.insertBoardFile(boardFile);
-
-      return createSuccessResult(fileName, fileSize, uploadPath, uploadName, boardFile.getFileSeq());
-    } catch (Exception e) {
-      log.error("파일 업로드 실패: {}", fileName, e);
-      return createFailureResult(fileName, fileSize, uploadPath);
-    }
-  }
-
-  /**
-   * 파일을 디스크에 저장
+   * BoardFile 엔티티 생성 (blob 위치를 upload_path/upload_name에 기록)
    */
-  private String saveFileToDisk(MultipartFile file, String relativePath, String fileName) throws Exception {
-    String extension = com.google.common.io.Files.getFileExtension(fileName);
-    String suffix = String.format(".%s", extension);
-
-    Path targetPath = Paths.get(UPLOAD_PATH, relativePath);
-    if (!java.nio.file.Files.exists(targetPath)) {
-      java.nio.file.Files.createDirectories(targetPath);
-    }
-
-    File saveFile = File.createTempFile(
-        TEMP_FILE_PREFIX,
-        suffix,
-        new File(UPLOAD_PATH + "/" + relativePath));
-    file.transferTo(saveFile);
-
-    return saveFile.getName();
-  }
-
-  /**
-   * BoardFile 엔티티 생성
-   */
-  private BoardFile createBoardFile(
-      Map<String, Object> params,
-      String fileName,
-      Integer fileSize,
-      String uploadPath,
-      String uploadName) {
-    
+  private BoardFile createBoardFile(int fileSeq, Map<String, Object> params, StagedFile stagedFile, BoardFileStatus status) {
     Integer boardSeq = (Integer) params.get("seq");
     String userId = Optional.ofNullable((String) params.get("userId")).orElse(DEFAULT_USER_ID);
     Date now = new Date();
 
     BoardFile boardFile = new BoardFile();
+    boardFile.setFileSeq(fileSeq);
     boardFile.setBoardSeq(boardSeq);
-    boardFile.setFileName(fileName);
-    boardFile.setFileSize(fileSize);
-    boardFile.setUploadName(uploadName);
-    boardFile.setUploadPath(uploadPath);
+    boardFile.setFileName(stagedFile.getFileName());
+    boardFile.setFileSize((int) stagedFile.getFileSize());
+    boardFile.setUploadName(stagedFile.getHash());
+    boardFile.setUploadPath(boardFileStorage.getBlobDir(stagedFile.getHash()));
+    boardFile.setStatus(status);
+    boardFile.setBlobHash(stagedFile.getHash());
     boardFile.setDeleteYn(false);
     boardFile.setRegDate(now);
     boardFile.setRegId(userId);
@@ -375,49 +598,10 @@ public class BoardServiceImpl implements BoardService {
     return boardFile;
   }
 
-  /**
-   * 성공 결과 생성
-   */
-  private Map<String, Object> createSuccessResult(
-      String fileName, Integer fileSize, String uploadPath, String uploadName, Integer fileSeq) {
-    return ImmutableMap.of(
-        "result", true,
-        "file", ImmutableMap.builder()
-            .put("fileName", fileName)
-            .put("fileSize", fileSize)
-            .put("uploadPath", uploadPath)
-            .put("uploadName", uploadName)
-            .put("fileSeq", fileSeq)
-            .build());
-  }
-
-  /**
-   * 실패 결과 생성
-   */
-  private Map<String, Object> createFailureResult(String fileName, Integer fileSize, String uploadPath) {
-    return ImmutableMap.of(
-        "result", false,
-        "file", ImmutableMap.builder()
-            .put("fileName", fileName != null ? fileName : "알 수 없는 파일")
-            .put("fileSize", fileSize != null ? fileSize : 0)
-            .put("uploadPath", uploadPath != null ? uploadPath : "")
-            .build());
-  }
-
-  /**
-   * 그룹 순서 업데이트
-   */
-  private void updateGroupOrder(Integer groupId, Integer groupOrder) {
-    Map<String, Object> params = new HashMap<>();
-    params.put("groupId", groupId);
-    params.put("groupOrder", groupOrder);
-    boardRepo.updateGroupOrd(params);
-  }
-
   /**
    * 파일 삭제 처리
    */
-  private void processFileRemoval(Map<String, Object> map) throws Exception {
+  private void processFileRemoval(Map<String, Object> map) {
     String removeFilesJson = (String) map.get("removeFiles");
     if (removeFilesJson == null || removeFilesJson.isEmpty()) {
       return;
@@ -432,7 +616,9 @@ public class BoardServiceImpl implements BoardService {
         for (String key : fileKeys) {
           try {
             Integer fileSeq = Integer.parseInt(key);
-            boardFileRepo.deleteBoardFile(fileSeq);
+            if (boardFileRepo.deleteBoardFile(fileSeq) > 0) {
+              boardFileStorage.release(fileSeq);
+            }
           } catch (NumberFormatException e) {
             log.warn("파일 삭제 실패: 유효하지 않은 파일 키 - {}", key);
           }
@@ -0,0 +1,96 @@
+package com.board.thymeleaf.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.stereotype.Service;
+
+import com.board.thymeleaf.domain.IdSequence;
+import com.board.thymeleaf.repository.IdSequenceRepo;
+import com.board.thymeleaf.service.ifc.IdAllocatorService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 블록 할당 방식 ID 채번 (hi/lo)
+ *
+ * 블록 안에서는 AtomicLong 증가만으로 채번하고, 블록을 다 쓴 경우에만 시퀀스를 조회합니다.
+ * 시퀀스 값은 트랜잭션과 무관하게 증가하므로 롤백된 ID는 재사용되지 않습니다(중간 번호가 빌 수 있음).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdAllocatorServiceImpl implements IdAllocatorService {
+
+  private final IdSequenceRepo idSequenceRepo;
+  private final Map<IdSequence, AtomicReference<IdBlock>> blocks = new ConcurrentHashMap<>();
+
+  @Override
+  public long nextId(IdSequence sequence) {
+    AtomicReference<IdBlock> holder = blocks.computeIfAbsent(sequence, s -> new AtomicReference<>(IdBlock.EMPTY));
+    while (true) {
+      IdBlock block = holder.get();
+      long id = block.next();
+      if (id > 0) {
+        return id;
+      }
+      refill(sequence, holder, block);
+    }
+  }
+
+  @Override
+  public int nextIntId(IdSequence sequence) {
+    return Math.toIntExact(nextId(sequence));
+  }
+
+  @Override
+  public int[] nextIntIds(IdSequence sequence, int count) {
+    int[] ids = new int[count];
+    for (int i = 0; i < count; i++) {
+      ids[i] = nextIntId(sequence);
+    }
+    return ids;
+  }
+
+  /**
+   * 블록 재할당
+   *
+   * 소진된 블록을 본 스레드들 중 하나만 시퀀스를 조회하고, 나머지는 새 블록을 그대로 사용합니다.
+   */
+  private void refill(IdSequence sequence, AtomicReference<IdBlock> holder, IdBlock exhausted) {
+    synchronized (holder) {
+      if (holder.get() != exhausted) {
+        return;
+      }
+      long start = idSequenceRepo.nextBlock(sequence);
+      holder.set(new IdBlock(start, start + sequence.getBlockSize()));
+      log.debug("ID 블록 할당: {} [{}, {})", sequence, start, start + sequence.getBlockSize());
+    }
+  }
+
+  /**
+   * 채번 블록 [next, limit)
+   */
+  private static class IdBlock {
+    private static final IdBlock EMPTY = new IdBlock(0, 0);
+
+    private final AtomicLong next;
+    private final long limit;
+
+    private IdBlock(long start, long limit) {
+      this.next = new AtomicLong(start);
+      this.limit = limit;
+    }
+
+    /**
+     * 다음 ID (소진 시 -1)
+     */
+    private long next() {
+      long id = next.getAndIncrement();
+      return id < limit ? id : -1;
+    }
+  }
+}
@@ -8,9 +8,11 @@ import java.util.Map;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.board.thymeleaf.domain.IdSequence;
 import com.board.thymeleaf.domain.Organization;
 import com.board.thymeleaf.domain.TreeNode;
 import com.board.thymeleaf.repository.OrganizationRepo;
+import com.board.thymeleaf.service.ifc.IdAllocatorService;
 import com.board.thymeleaf.service.ifc.OrganizationService;
 
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,7 @@ import lombok.RequiredArgsConstructor;
 public class OrganizationServiceImpl implements OrganizationService {
 
   private final OrganizationRepo organizationRepo;
+  private final IdAllocatorService idAllocatorService;
 
   @Override
   public List<TreeNode> getTree() throws Exception {
@@ -53,8 +56,8 @@ public class OrganizationServiceImpl implements OrganizationService {
   @Override
   @Transactional(readOnly = false)
   public Long addOrganization(String orgName, Long parentOrgId) throws Exception {
-    // 1. 다음 조직 ID 조회
-    Long newOrgId = organizationRepo.getNextOrgId();
+    // 1. 다음 조직 ID 채번
+    Long newOrgId = idAllocatorService.nextId(IdSequence.ORGANIZATION);
     
     // 2. 조직 정보 추가
     Organization organization = new Organization();
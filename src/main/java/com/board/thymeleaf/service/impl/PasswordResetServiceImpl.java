@@ -15,9 +15,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Base64Utils;
 
+import com.board.thymeleaf.domain.IdSequence;
 import com.board.thymeleaf.domain.PasswordReset;
 import com.board.thymeleaf.mail.service.ifc.MailService;
 import com.board.thymeleaf.repository.PasswordResetRepo;
+import com.board.thymeleaf.service.ifc.IdAllocatorService;
 import com.board.thymeleaf.service.ifc.PasswordResetService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
@@ -75,6 +77,7 @@ public class PasswordResetServiceImpl implements PasswordResetService {
   
   private final PasswordResetRepo passwordResetRepo;
   private final MailService mailService;
+  private final IdAllocatorService idAllocatorService;
   private final ObjectMapper objectMapper = new ObjectMapper();
 
   @Value("${web.url:http://localhost:8080}")
@@ -112,7 +115,7 @@ public class PasswordResetServiceImpl implements PasswordResetService {
     passwordResetRepo.invalidatePreviousTokens(email);
     
     // 3단계: 토큰 정보 생성
-    Integer resetSeq = passwordResetRepo.getNextPasswordResetSeq();
+    Integer resetSeq = idAllocatorService.nextIntId(IdSequence.PASSWORD_RESET);
     Date currentTime = new Date();
     Date expirationTime = calculateExpirationTime(currentTime);
     
@@ -0,0 +1,113 @@
+package com.board.thymeleaf.storage;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 첨부파일 압축 저장 (gzip)
+ *
+ * 파일 형식(이름)으로 판단하지 않고 앞부분 sampleSize만큼을 빠르게 압축해 보아 maxRatio 이하로 줄어드는 내용만 압축합니다.
+ * 텍스트/CSV/로그는 대부분 압축되고, 이미 압축된 이미지/zip 기반 문서(docx, xlsx 등)는 그대로 둡니다.
+ * 전체를 압축한 결과가 maxRatio보다 크면 압축본을 버리고 원본을 저장합니다.
+ * gzip은 HTTP Content-Encoding으로 그대로 보낼 수 있어 다운로드 시 받는 쪽이 지원하면 풀지 않고 전송합니다.
+ */
+@Component
+public class BoardFileCompressor {
+
+  public static final String GZIP = "gzip";
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final boolean enabled;
+  private final long minSize;
+  private final int sampleSize;
+  private final double maxRatio;
+
+  public BoardFileCompressor(
+      @Value("${board.file.compression.enabled:true}") boolean enabled,
+      @Value("${board.file.compression.min-size:1024}") long minSize,
+      @Value("${board.file.compression.sample-size:65536}") int sampleSize,
+      @Value("${board.file.compression.max-ratio:0.9}") double maxRatio) {
+    this.enabled = enabled;
+    this.minSize = minSize;
+    this.sampleSize = sampleSize;
+    this.maxRatio = maxRatio;
+  }
+
+  /**
+   * 압축할 만한 내용이면 target에 압축해 쓰고 Content-Encoding 반환 (압축하지 않으면 null, target 없음)
+   */
+  public String compress(Path source, Path target) throws IOException {
+    long size = Files.size(source);
+    if (!enabled || size < minSize || !isCompressible(source)) {
+      return null;
+    }
+
+    try (InputStream in = Files.newInputStream(source);
+        OutputStream out = new GZIPOutputStream(Files.newOutputStream(target), BUFFER_SIZE)) {
+      in.transferTo(out);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(target);
+      throw e;
+    }
+    if (Files.size(target) > size * maxRatio) {
+      Files.deleteIfExists(target);
+      return null;
+    }
+    return GZIP;
+  }
+
+  /**
+   * 저장된 내용을 원래 내용으로 읽는 스트림 (contentEncoding이 null이면 그대로)
+   */
+  public InputStream decode(InputStream in, String contentEncoding) throws IOException {
+    if (contentEncoding == null) {
+      return in;
+    }
+    if (!GZIP.equals(contentEncoding)) {
+      in.close();
+      throw new IllegalStateException("지원하지 않는 압축 형식입니다: " + contentEncoding);
+    }
+    try {
+      return new BufferedInputStream(new GZIPInputStream(in, BUFFER_SIZE), BUFFER_SIZE);
+    } catch (IOException | RuntimeException e) {
+      in.close();
+      throw e;
+    }
+  }
+
+  /**
+   * 앞부분을 가장 빠른 수준으로 압축해 보아 maxRatio 이하로 줄어드는지 확인
+   */
+  private boolean isCompressible(Path source) throws IOException {
+    byte[] sample = new byte[sampleSize];
+    int length;
+    try (InputStream in = Files.newInputStream(source)) {
+      length = in.readNBytes(sample, 0, sample.length);
+    }
+
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(sample, 0, length);
+      deflater.finish();
+      byte[] buffer = new byte[BUFFER_SIZE];
+      long compressed = 0;
+      while (!deflater.finished()) {
+        compressed += deflater.deflate(buffer);
+      }
+      return compressed <= length * maxRatio;
+    } finally {
+      deflater.end();
+    }
+  }
+}
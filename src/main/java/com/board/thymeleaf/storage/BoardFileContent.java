@@ -0,0 +1,42 @@
+package com.board.thymeleaf.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * 저장된 첨부파일 내용 (저장 위치와 관계없이 같은 방식으로 읽음)
+ *
+ * 개별 파일이면 FileChannel로, pack에 묶여 있으면 메모리 매핑된 pack의 해당 구간으로 읽습니다.
+ * 위치와 길이는 저장된 바이트 기준이며 압축 저장된 내용은 압축본 그대로입니다.
+ * 다 읽은 뒤 close로 열린 채널을 닫습니다.
+ */
+public interface BoardFileContent extends Closeable {
+
+  /**
+   * 저장된 크기
+   */
+  long length();
+
+  /**
+   * 저장 위치의 수정 시각 (ms)
+   */
+  long lastModified() throws IOException;
+
+  /**
+   * 개별 파일이면 그 경로 (sendfile 등 파일 단위로 읽을 때 사용), pack에 있으면 null
+   */
+  Path getFile();
+
+  /**
+   * position부터 최대 count만큼 target에 쓰고 실제 쓴 크기 반환
+   */
+  long transferTo(long position, long count, WritableByteChannel target) throws IOException;
+
+  /**
+   * 처음부터 읽는 스트림
+   */
+  InputStream openStream() throws IOException;
+}
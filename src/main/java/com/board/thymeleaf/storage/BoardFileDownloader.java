@@ -0,0 +1,279 @@
+package com.board.thymeleaf.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.board.thymeleaf.domain.BoardFile;
+import com.board.thymeleaf.util.ConditionalRequestUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 첨부파일 다운로드 응답
+ *
+ * 파일 내용은 힙에 올리지 않고 BoardFileContent.transferTo로 chunkSize씩 응답 스트림에 보냅니다. (pack에 있으면 매핑된 구간)
+ * 단일 Range 요청은 206으로 해당 구간만 보내 중단된 다운로드를 이어받을 수 있게 하고,
+ * If-Range가 현재 ETag/Last-Modified와 다르면 Range를 무시하고 전체를 보냅니다. (여러 구간 요청도 전체 전송)
+ * rateLimit(bytes/초)이 있으면 chunk마다 전송량에 맞춰 대기해 연결당 속도를 제한하고,
+ * 제한이 없고 개별 파일이며 Tomcat이 sendfile을 지원하면 커널에서 바로 전송하도록 넘깁니다.
+ * 압축 저장된 파일은 Accept-Encoding이 맞고 Range가 없으면 Content-Encoding을 붙여 그대로 보내고,
+ * 그 밖에는 스트림으로 풀면서 원래 내용을 보냅니다. (Range는 원래 내용 기준)
+ * 압축된 파일의 Range는 앞부분을 풀어서 건너뛰어야 하므로, 시작 위치가 maxDecodeSkip을 넘으면 Range를 무시하고 전체를 보냅니다.
+ */
+@Slf4j
+@Component
+public class BoardFileDownloader {
+
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+  private static final String ACCEPT_RANGES_BYTES = "bytes";
+  private static final String METHOD_HEAD = "HEAD";
+
+  private final BoardFileStorage boardFileStorage;
+  private final BoardFileCompressor boardFileCompressor;
+  private final BoardFilePackStore boardFilePackStore;
+  private final long rateLimit;
+  private final int chunkSize;
+  private final long maxDecodeSkip;
+
+  public BoardFileDownloader(
+      BoardFileStorage boardFileStorage,
+      BoardFileCompressor boardFileCompressor,
+      BoardFilePackStore boardFilePackStore,
+      @Value("${board.file.download.rate-limit:0}") long rateLimit,
+      @Value("${board.file.download.chunk-size:65536}") int chunkSize,
+      @Value("${board.file.download.max-decode-skip:16777216}") long maxDecodeSkip) {
+    this.boardFileStorage = boardFileStorage;
+    this.boardFileCompressor = boardFileCompressor;
+    this.boardFilePackStore = boardFilePackStore;
+    this.rateLimit = rateLimit;
+    this.chunkSize = chunkSize;
+    this.maxDecodeSkip = maxDecodeSkip;
+  }
+
+  public void download(BoardFile file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+    try (BoardFileContent content = boardFileStorage.getContent(file)) {
+      boardFilePackStore.recordAccess(file.getBlobHash());
+      download(file, content, request, response);
+    }
+  }
+
+  private void download(BoardFile file, BoardFileContent content, HttpServletRequest request, HttpServletResponse response) throws IOException {
+    String contentEncoding = file.getContentEncoding();
+    String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+    boolean encoded = contentEncoding != null && rangeHeader == null && acceptsEncoding(request, contentEncoding);
+    boolean decode = contentEncoding != null && !encoded;
+    long length = decode ? file.getFileSize() : content.length();
+    long lastModified = content.lastModified() / 1000 * 1000;
+    String etag = getETag(file, length, lastModified, encoded ? contentEncoding : null);
+
+    response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+    if (contentEncoding != null) {
+      response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+    if (ConditionalRequestUtil.checkNotModified(new ServletWebRequest(request, response), etag)) {
+      return;
+    }
+
+    long start = 0;
+    long count = length;
+    if (rangeHeader != null && matchesIfRange(request, etag, lastModified)) {
+      List<HttpRange> ranges = parseRanges(rangeHeader);
+      boolean satisfiable = ranges != null;
+      if (satisfiable && ranges.size() == 1) {
+        HttpRange range = ranges.get(0);
+        start = range.getRangeStart(length);
+        count = range.getRangeEnd(length) - start + 1;
+        satisfiable = start < length && count > 0;
+      }
+      if (!satisfiable) {
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        return;
+      }
+      if (decode && start > maxDecodeSkip) {
+        // 풀어서 건너뛸 양이 너무 많으면 요청마다 같은 앞부분을 다시 풀지 않도록 전체 전송
+        start = 0;
+        count = length;
+      } else if (ranges.size() == 1) {
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, String.format("bytes %d-%d/%d", start, start + count - 1, length));
+      }
+    }
+
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, ACCEPT_RANGES_BYTES);
+    response.setContentType(MediaTypeFactory.getMediaType(file.getFileName()).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment().filename(file.getFileName(), StandardCharsets.UTF_8).build().toString());
+    if (encoded) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+    }
+    response.setContentLengthLong(count);
+    if (METHOD_HEAD.equals(request.getMethod()) || count == 0) {
+      return;
+    }
+
+    if (!decode && rateLimit <= 0 && content.getFile() != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      request.setAttribute(SENDFILE_FILENAME, content.getFile().toAbsolutePath().toString());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, start + count);
+      return;
+    }
+
+    try {
+      if (decode) {
+        transferDecoded(content, contentEncoding, start, count, response);
+      } else {
+        transfer(content, start, count, response);
+      }
+    } catch (IOException e) {
+      // 대부분 클라이언트가 연결을 끊은 경우 (응답이 이미 나갔으므로 오류 화면을 만들 수 없음)
+      log.debug("첨부파일 전송 중단: {} ({})", file.getFileSeq(), e.toString());
+    }
+  }
+
+  /**
+   * [start, start + count) 구간을 chunkSize씩 전송 (rateLimit이 있으면 전송량에 맞춰 대기)
+   */
+  private void transfer(BoardFileContent content, long start, long count, HttpServletResponse response) throws IOException {
+    long startedAt = System.nanoTime();
+    WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+    long sent = 0;
+    while (sent < count) {
+      long written = content.transferTo(start + sent, Math.min(chunkSize, count - sent), out);
+      if (written <= 0) {
+        throw new IOException("저장된 길이가 응답 길이보다 짧습니다.");
+      }
+      sent += written;
+      throttle(sent, startedAt);
+    }
+  }
+
+  /**
+   * 압축을 풀면서 원래 내용의 [start, start + count) 구간을 전송 (앞부분은 풀어서 건너뜀)
+   */
+  private void transferDecoded(BoardFileContent content, String contentEncoding, long start, long count, HttpServletResponse response) throws IOException {
+    long startedAt = System.nanoTime();
+    try (InputStream in = boardFileCompressor.decode(content.openStream(), contentEncoding)) {
+      for (long skipped = 0; skipped < start; ) {
+        long n = in.skip(start - skipped);
+        if (n <= 0) {
+          throw new IOException("원래 내용이 요청 구간보다 짧습니다.");
+        }
+        skipped += n;
+      }
+      OutputStream out = response.getOutputStream();
+      byte[] buffer = new byte[chunkSize];
+      long sent = 0;
+      while (sent < count) {
+        int read = in.read(buffer, 0, (int) Math.min(buffer.length, count - sent));
+        if (read < 0) {
+          throw new IOException("원래 내용이 응답 길이보다 짧습니다.");
+        }
+        out.write(buffer, 0, read);
+        sent += read;
+        throttle(sent, startedAt);
+      }
+    }
+  }
+
+  private void throttle(long sent, long startedAt) throws InterruptedIOException {
+    if (rateLimit <= 0) {
+      return;
+    }
+    long waitNanos = TimeUnit.SECONDS.toNanos(sent) / rateLimit - (System.nanoTime() - startedAt);
+    if (waitNanos <= 0) {
+      return;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("첨부파일 전송이 중단되었습니다.");
+    }
+  }
+
+  /**
+   * Range 헤더 파싱 (형식이 잘못되었으면 null)
+   */
+  private List<HttpRange> parseRanges(String rangeHeader) {
+    try {
+      return HttpRange.parseRanges(rangeHeader);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * If-Range가 없거나 현재 파일과 같으면 true (약한 ETag는 비교하지 않음)
+   */
+  private boolean matchesIfRange(HttpServletRequest request, String etag, long lastModified) {
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (ifRange == null) {
+      return true;
+    }
+    if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+      return ifRange.equals(etag);
+    }
+    try {
+      return request.getDateHeader(HttpHeaders.IF_RANGE) == lastModified;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Accept-Encoding에 contentEncoding이 있고 q=0이 아니면 true
+   */
+  private boolean acceptsEncoding(HttpServletRequest request, String contentEncoding) {
+    String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] params = coding.split(";");
+      if (!params[0].trim().equalsIgnoreCase(contentEncoding)) {
+        continue;
+      }
+      for (int i = 1; i < params.length; i++) {
+        String param = params[i].trim();
+        if (param.startsWith("q=") && param.substring(2).matches("0(\\.0*)?")) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * 강한 ETag (blob은 내용 해시, 압축된 그대로 보낼 때는 형식을 덧붙임, 이전 방식 파일은 크기와 수정 시각)
+   */
+  private String getETag(BoardFile file, long length, long lastModified, String contentEncoding) {
+    if (file.getBlobHash() != null) {
+      return "\"" + file.getBlobHash() + (contentEncoding == null ? "" : "-" + contentEncoding) + "\"";
+    }
+    return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+  }
+}
@@ -0,0 +1,355 @@
+package com.board.thymeleaf.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.board.thymeleaf.domain.BoardFile;
+import com.board.thymeleaf.domain.BoardFileGcResult;
+import com.board.thymeleaf.domain.BoardFileStatus;
+import com.board.thymeleaf.domain.FileBlob;
+import com.board.thymeleaf.repository.BoardFileRepo;
+import com.board.thymeleaf.repository.FileBlobRepo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 참조 없는 첨부파일 정리
+ *
+ * upload 경로를 Files.walkFileTree로 돌면서 디렉터리 하나가 끝날 때마다(postVisitDirectory)
+ * 그 디렉터리의 파일을 이름순으로 정렬해, 같은 순서로 읽은 DB 참조 Cursor와 병합 비교합니다.
+ * - blob 디렉터리: file_blob (해시 접두어 구간, 참조 수 0이면 행과 함께 삭제, 축소본 등 "해시.xxx" 파일은 원본 해시 기준)
+ *   pack으로 옮겨진 blob의 개별 파일도 이때 지움 (이관 직전에 조회한 요청이 읽을 수 있도록 바로 지우지 않음)
+ * - pack 디렉터리: file_blob이 하나도 가리키지 않는 pack (참조 수 0인 pack blob 행은 시작할 때 먼저 삭제)
+ * - staging 디렉터리: 저장 대기 중인 file_blob.staged_name과 진행 중인 분할 업로드
+ * - 그 밖의 디렉터리: 삭제되지 않은 이전 방식 board_file
+ * 이전 방식 board_file은 upload_path 표기가 제각각이므로 시작할 때 upload_path/upload_name을 정규화한 경로로 모아 두고,
+ * 어느 디렉터리에서든(이름이 blob, staging, pack인 이전 디렉터리 포함) 이 경로에 해당하는 파일은 지우지 않습니다.
+ * 수정된 지 gracePeriod가 지나지 않은 파일은 등록 중일 수 있으므로 대상에서 빼고,
+ * 삭제는 deleteRate(건/초)에 맞춰 천천히 진행합니다. 삭제 직전에 잠금 조회(이전 방식은 같은 이름 조회)와 수정 시각을 다시 확인하며,
+ * file_blob 행은 삭제가 커밋된 뒤에 파일을 지웁니다. (파일 삭제가 실패하면 다음 정리 때 참조 없는 파일로 지움)
+ */
+@Slf4j
+@Component
+public class BoardFileGarbageCollector {
+
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  private final BoardFileRepo boardFileRepo;
+  private final FileBlobRepo fileBlobRepo;
+  private final BoardFileStorage boardFileStorage;
+  private final BoardFilePackStore boardFilePackStore;
+  private final ResumableUploadStore resumableUploadStore;
+  private final TransactionTemplate readTransaction;
+  private final TransactionTemplate deleteTransaction;
+  private final long graceMillis;
+  private final int deleteRate;
+
+  public BoardFileGarbageCollector(
+      BoardFileRepo boardFileRepo,
+      FileBlobRepo fileBlobRepo,
+      BoardFileStorage boardFileStorage,
+      BoardFilePackStore boardFilePackStore,
+      ResumableUploadStore resumableUploadStore,
+      @Qualifier("boardTxManager") PlatformTransactionManager boardTxManager,
+      @Value("${board.file.gc.grace-minutes:1440}") long graceMinutes,
+      @Value("${board.file.gc.delete-rate:100}") int deleteRate) {
+    this.boardFileRepo = boardFileRepo;
+    this.fileBlobRepo = fileBlobRepo;
+    this.boardFileStorage = boardFileStorage;
+    this.boardFilePackStore = boardFilePackStore;
+    this.resumableUploadStore = resumableUploadStore;
+    this.readTransaction = new TransactionTemplate(boardTxManager);
+    this.readTransaction.setReadOnly(true);
+    this.deleteTransaction = new TransactionTemplate(boardTxManager);
+    this.graceMillis = TimeUnit.MINUTES.toMillis(graceMinutes);
+    this.deleteRate = deleteRate;
+  }
+
+  public BoardFileGcResult collect() throws IOException {
+    long startedAt = System.currentTimeMillis();
+    Sweep sweep = new Sweep(startedAt - graceMillis, getLegacyFiles());
+    Integer releasedPacked = deleteTransaction.execute(status -> fileBlobRepo.deleteUnreferencedPackedFileBlob());
+    log.debug("참조 없는 pack blob 삭제: {}건", releasedPacked);
+    Path root = boardFileStorage.getUploadRoot();
+    if (Files.isDirectory(root)) {
+      Files.walkFileTree(root, sweep);
+    }
+
+    BoardFileGcResult result = BoardFileGcResult.builder()
+        .scannedCount(sweep.scannedCount)
+        .deletedCount(sweep.deletedCount)
+        .reclaimedBytes(sweep.reclaimedBytes)
+        .elapsedMillis(System.currentTimeMillis() - startedAt)
+        .build();
+    log.info("참조 없는 첨부파일 정리 완료: {}", result);
+    return result;
+  }
+
+  /**
+   * 삭제되지 않은 이전 방식 첨부파일의 정규화된 경로 (마이그레이션 후 남은 행만 있으므로 메모리에 모음)
+   */
+  private Set<Path> getLegacyFiles() {
+    return readTransaction.execute(status -> {
+      Set<Path> paths = new HashSet<>();
+      try (Cursor<BoardFile> files = boardFileRepo.getLegacyBoardFileCursor()) {
+        for (BoardFile file : files) {
+          if (file.getUploadName() == null) {
+            continue;
+          }
+          try {
+            paths.add(boardFileStorage.getLegacyFilePath(file));
+          } catch (IllegalStateException e) {
+            // 저장소 밖을 가리키는 행은 정리 대상 파일과 겹치지 않음
+            log.warn(e.getMessage());
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return paths;
+    });
+  }
+
+  /**
+   * 파일 목록을 fileKey로 정렬해 같은 순서의 참조 Cursor와 병합하고, 참조가 없거나 살아 있지 않은 파일만 반환
+   */
+  private <T> List<Candidate> unreferenced(List<Candidate> files, Function<Candidate, String> fileKey,
+      Cursor<T> refs, Function<T, String> key, BiPredicate<Candidate, T> live) {
+    files.sort(Comparator.comparing(fileKey));
+    List<Candidate> result = new ArrayList<>();
+    Iterator<T> iterator = refs.iterator();
+    T ref = iterator.hasNext() ? iterator.next() : null;
+    for (Candidate file : files) {
+      String name = fileKey.apply(file);
+      while (ref != null && key.apply(ref).compareTo(name) < 0) {
+        ref = iterator.hasNext() ? iterator.next() : null;
+      }
+      if (ref == null || !key.apply(ref).equals(name) || !live.test(file, ref)) {
+        result.add(file);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * blob 디렉터리 파일이 속한 해시 (파생 파일은 첫 "." 앞, 임시 파일은 어느 blob에도 속하지 않도록 이름 그대로)
+   */
+  private String toBlobHash(Candidate file) {
+    int dot = file.name.indexOf('.');
+    return dot < 0 || file.name.endsWith(TEMP_SUFFIX) ? file.name : file.name.substring(0, dot);
+  }
+
+  private boolean isLive(FileBlob blob) {
+    return blob.getRefCount() > 0 || blob.getStatus() == BoardFileStatus.PENDING;
+  }
+
+  /**
+   * blob 디렉터리 파일을 남겨야 하는지 (blob 본 파일은 pack으로 옮겨지면 불필요, 축소본 등은 blob이 살아 있는 동안 유지)
+   */
+  private boolean isLive(Candidate file, FileBlob blob) {
+    if (!isLive(blob)) {
+      return false;
+    }
+    return blob.getPackId() == null || !file.name.equals(blob.getHash());
+  }
+
+  private String toRelativePath(Path root, Path dir) {
+    return StreamSupport.stream(root.relativize(dir).spliterator(), false)
+        .map(Path::toString)
+        .filter(name -> !name.isEmpty())
+        .collect(Collectors.joining("/"));
+  }
+
+  /**
+   * 디렉터리 단위로 파일을 모아 비교하고 삭제하는 방문자 (한 번의 정리 작업 동안만 사용)
+   */
+  private class Sweep extends SimpleFileVisitor<Path> {
+    private final long cutoff;
+    private final Set<Path> legacyFiles;
+    private final long startedAt = System.nanoTime();
+    private final Deque<List<Candidate>> directories = new ArrayDeque<>();
+    private long scannedCount;
+    private long deletedCount;
+    private long reclaimedBytes;
+
+    private Sweep(long cutoff, Set<Path> legacyFiles) {
+      this.cutoff = cutoff;
+      this.legacyFiles = legacyFiles;
+    }
+
+    @Override
+    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+      directories.push(new ArrayList<>());
+      return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+      scannedCount++;
+      if (attrs.isRegularFile() && attrs.lastModifiedTime().toMillis() < cutoff) {
+        directories.peek().add(new Candidate(file, attrs.size()));
+      }
+      return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFileFailed(Path file, IOException e) {
+      log.warn("파일 확인 실패: {} ({})", file, e.toString());
+      return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+      List<Candidate> files = directories.pop();
+      if (!files.isEmpty()) {
+        sweepDirectory(dir, files);
+      }
+      return FileVisitResult.CONTINUE;
+    }
+
+    private void sweepDirectory(Path dir, List<Candidate> files) throws IOException {
+      files.removeIf(file -> legacyFiles.contains(file.normalizedPath));
+      if (files.isEmpty()) {
+        return;
+      }
+      Path blobRoot = boardFileStorage.getBlobRoot();
+      if (dir.equals(boardFileStorage.getStagingPath())) {
+        List<Candidate> garbage = readTransaction.execute(status -> {
+          try (Cursor<String> refs = fileBlobRepo.getPendingStagedNameCursor()) {
+            return unreferenced(files, Candidate::getName, refs, Function.identity(), (file, name) -> true);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        for (Candidate file : garbage) {
+          if (!resumableUploadStore.isActive(file.name)) {
+            delete(file);
+          }
+        }
+      } else if (dir.startsWith(blobRoot)) {
+        String hashPrefix = toRelativePath(blobRoot, dir).replace("/", "");
+        List<Candidate> garbage = readTransaction.execute(status -> {
+          try (Cursor<FileBlob> refs = fileBlobRepo.getFileBlobCursorByHashPrefix(hashPrefix)) {
+            return unreferenced(files, BoardFileGarbageCollector.this::toBlobHash, refs, FileBlob::getHash, BoardFileGarbageCollector.this::isLive);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        for (Candidate file : garbage) {
+          deleteBlob(file);
+        }
+      } else if (dir.equals(boardFilePackStore.getPackRoot())) {
+        List<Candidate> garbage = readTransaction.execute(status -> {
+          try (Cursor<String> refs = fileBlobRepo.getPackIdCursor()) {
+            return unreferenced(files, file -> boardFilePackStore.toPackId(file.name), refs, Function.identity(), (file, packId) -> true);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        for (Candidate file : garbage) {
+          boardFilePackStore.evict(boardFilePackStore.toPackId(file.name));
+          delete(file);
+        }
+      } else {
+        // 이전 방식 파일은 위에서 빠졌으므로 남은 파일은 참조가 없음
+        for (Candidate file : files) {
+          if (!boardFileStorage.isLegacyFileReferenced(file.normalizedPath)) {
+            delete(file);
+          }
+        }
+      }
+    }
+
+    /**
+     * blob 파일 삭제 (참조 수 0인 행이 있으면 잠금 후 삭제하고 커밋된 뒤 파일 삭제, 그 사이 다시 참조되었으면 유지)
+     */
+    private void deleteBlob(Candidate file) throws IOException {
+      String hash = toBlobHash(file);
+      boolean garbage = deleteTransaction.execute(status -> {
+        FileBlob blob = fileBlobRepo.getFileBlobForUpdate(hash);
+        if (blob != null && isLive(file, blob)) {
+          return false;
+        }
+        if (blob != null) {
+          fileBlobRepo.deleteUnreferencedFileBlob(hash);
+        }
+        return true;
+      });
+      if (garbage) {
+        delete(file);
+      }
+    }
+
+    private void delete(Candidate file) throws IOException {
+      // 확인 이후 같은 이름으로 새로 저장된 파일은 수정 시각이 바뀜
+      if (!Files.exists(file.path) || Files.getLastModifiedTime(file.path).toMillis() >= cutoff) {
+        return;
+      }
+      Files.delete(file.path);
+      deletedCount++;
+      reclaimedBytes += file.size;
+      log.debug("참조 없는 첨부파일 삭제: {} ({} bytes)", file.path, file.size);
+      throttle();
+    }
+
+    private void throttle() {
+      if (deleteRate <= 0) {
+        return;
+      }
+      long waitNanos = TimeUnit.SECONDS.toNanos(deletedCount) / deleteRate - (System.nanoTime() - startedAt);
+      if (waitNanos > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  /**
+   * 유예 기간이 지난 파일
+   */
+  private static class Candidate {
+    private final Path path;
+    private final Path normalizedPath;
+    private final String name;
+    private final long size;
+
+    private Candidate(Path path, long size) {
+      this.path = path;
+      this.normalizedPath = path.toAbsolutePath().normalize();
+      this.name = path.getFileName().toString();
+      this.size = size;
+    }
+
+    private String getName() {
+      return name;
+    }
+  }
+}
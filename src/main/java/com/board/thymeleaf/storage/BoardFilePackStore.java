@@ -0,0 +1,300 @@
+package com.board.thymeleaf.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.board.thymeleaf.repository.FileBlobRepo;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 작은 blob을 묶어 두는 pack 파일
+ *
+ * pack은 pack 디렉터리에 "ID.pack"으로 만들며, 한 번 쓰고 닫은 뒤에는 바꾸지 않습니다. (append-only)
+ * 각 blob의 pack 안 위치(offset, length)는 file_blob에 기록하고,
+ * 읽을 때는 pack 전체를 한 번 메모리 매핑해 두고 해당 구간만 잘라(slice) 사용하므로 요청마다 파일을 열지 않습니다.
+ * 매핑은 최근에 읽은 maxMappedPacks개까지만 보관합니다. (LRU)
+ * Java 11에는 매핑을 바로 해제하는 공개 API가 없으므로, 목록에서 빠진(evict) 매핑은 읽던 요청이 끝나고
+ * ByteBuffer가 GC될 때 해제되며 그때까지는 삭제한 pack의 디스크 공간도 반환되지 않습니다.
+ * 다운로드된 blob은 recordAccess로 모아 두었다가 주기적으로 file_blob.accessed_date에 반영합니다. (pack 이관 대상 판단)
+ */
+@Slf4j
+@Component
+public class BoardFilePackStore {
+
+  private static final String PACK_DIR = "pack";
+  private static final String PACK_SUFFIX = ".pack";
+  private static final int ACCESS_BATCH_SIZE = 500;
+
+  private final FileBlobRepo fileBlobRepo;
+  private final String uploadPath;
+  private final Cache<String, ByteBuffer> mappedPacks;
+  private final Set<String> accessedHashes = ConcurrentHashMap.newKeySet();
+
+  public BoardFilePackStore(
+      FileBlobRepo fileBlobRepo,
+      @Value("${path.upload}") String uploadPath,
+      @Value("${board.file.pack.max-mapped-packs:256}") long maxMappedPacks) {
+    this.fileBlobRepo = fileBlobRepo;
+    this.uploadPath = uploadPath;
+    this.mappedPacks = CacheBuilder.newBuilder()
+        .maximumSize(maxMappedPacks)
+        .build();
+  }
+
+  /**
+   * pack 안 blob 내용 (매핑된 pack의 해당 구간)
+   */
+  public BoardFileContent getContent(String packId, long offset, long length) throws IOException {
+    ByteBuffer pack;
+    try {
+      pack = mappedPacks.get(packId, () -> map(packId));
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+    } catch (UncheckedExecutionException e) {
+      throw (RuntimeException) e.getCause();
+    }
+    if (offset + length > pack.capacity()) {
+      throw new IllegalStateException(String.format("pack 범위를 벗어났습니다: %s (%d+%d)", packId, offset, length));
+    }
+    ByteBuffer slice = pack.duplicate();
+    slice.position((int) offset).limit((int) (offset + length));
+    return new PackedContent(getPackPath(packId), slice.slice());
+  }
+
+  /**
+   * 새 pack 파일 생성
+   */
+  public PackWriter createPack() throws IOException {
+    Files.createDirectories(getPackRoot());
+    String packId = UUID.randomUUID().toString();
+    return new PackWriter(packId, FileChannel.open(getPackPath(packId), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+  }
+
+  /**
+   * 삭제할 pack을 매핑 목록에서 제외 (실제 해제는 읽던 요청이 끝나고 ByteBuffer가 GC될 때)
+   */
+  public void evict(String packId) {
+    mappedPacks.invalidate(packId);
+  }
+
+  public Path getPackRoot() {
+    return Paths.get(uploadPath, PACK_DIR);
+  }
+
+  public Path getPackPath(String packId) {
+    return getPackRoot().resolve(packId + PACK_SUFFIX);
+  }
+
+  /**
+   * pack 파일명에서 ID 추출 (pack 파일이 아니면 이름 그대로)
+   */
+  public String toPackId(String fileName) {
+    return fileName.endsWith(PACK_SUFFIX) ? fileName.substring(0, fileName.length() - PACK_SUFFIX.length()) : fileName;
+  }
+
+  /**
+   * 다운로드된 blob 기록 (flushAccess에서 한꺼번에 반영)
+   */
+  public void recordAccess(String hash) {
+    if (hash != null) {
+      accessedHashes.add(hash);
+    }
+  }
+
+  /**
+   * 모아 둔 다운로드 기록을 accessed_date에 반영 (실패한 batch는 다음에 재시도)
+   */
+  @Scheduled(fixedDelayString = "${board.file.pack.access-flush-interval:60000}")
+  public void flushAccess() {
+    List<String> batch = new ArrayList<>(ACCESS_BATCH_SIZE);
+    for (String hash : accessedHashes) {
+      accessedHashes.remove(hash);
+      batch.add(hash);
+      if (batch.size() == ACCESS_BATCH_SIZE) {
+        updateAccessedDate(batch);
+        batch = new ArrayList<>(ACCESS_BATCH_SIZE);
+      }
+    }
+    if (!batch.isEmpty()) {
+      updateAccessedDate(batch);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    flushAccess();
+  }
+
+  private void updateAccessedDate(List<String> hashes) {
+    try {
+      fileBlobRepo.updateFileBlobAccessedDate(hashes);
+    } catch (Exception e) {
+      log.warn("다운로드 시각 반영 실패 ({}건): {}", hashes.size(), e.toString());
+      accessedHashes.addAll(hashes);
+    }
+  }
+
+  /**
+   * pack 전체를 읽기 전용으로 매핑 (매핑 후 채널을 닫아도 매핑은 유지)
+   */
+  private ByteBuffer map(String packId) throws IOException {
+    try (FileChannel channel = FileChannel.open(getPackPath(packId), StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalStateException("pack이 너무 큽니다: " + packId);
+      }
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  /**
+   * pack 쓰기 (append 후 finish에서 디스크에 반영하고 닫음)
+   */
+  public static class PackWriter implements Closeable {
+    private final String packId;
+    private final FileChannel channel;
+    private long size;
+
+    private PackWriter(String packId, FileChannel channel) {
+      this.packId = packId;
+      this.channel = channel;
+    }
+
+    public String getPackId() {
+      return packId;
+    }
+
+    public long size() {
+      return size;
+    }
+
+    /**
+     * 파일 내용을 끝에 이어 쓰고 시작 위치 반환
+     */
+    public long append(Path source) throws IOException {
+      long offset = size;
+      try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+        long length = in.size();
+        long written = 0;
+        while (written < length) {
+          long n = channel.transferFrom(in, offset + written, length - written);
+          if (n <= 0) {
+            throw new IOException("파일을 끝까지 읽지 못했습니다: " + source);
+          }
+          written += n;
+        }
+        size += length;
+      }
+      return offset;
+    }
+
+    public void finish() throws IOException {
+      channel.force(true);
+      channel.close();
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+
+  /**
+   * 매핑된 pack의 한 구간
+   */
+  private static class PackedContent implements BoardFileContent {
+    private final Path packPath;
+    private final ByteBuffer slice;
+
+    private PackedContent(Path packPath, ByteBuffer slice) {
+      this.packPath = packPath;
+      this.slice = slice;
+    }
+
+    @Override
+    public long length() {
+      return slice.capacity();
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+      return Files.getLastModifiedTime(packPath).toMillis();
+    }
+
+    @Override
+    public Path getFile() {
+      return null;
+    }
+
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+      ByteBuffer part = slice.duplicate();
+      part.position((int) position).limit((int) Math.min(slice.capacity(), position + count));
+      return target.write(part);
+    }
+
+    @Override
+    public InputStream openStream() {
+      return new ByteBufferInputStream(slice.duplicate());
+    }
+
+    @Override
+    public void close() {
+      // 매핑은 pack 단위로 공유하므로 닫지 않음
+    }
+  }
+
+  private static class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int n = Math.min(len, buffer.remaining());
+      buffer.get(b, off, n);
+      return n;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+}
@@ -0,0 +1,481 @@
+package com.board.thymeleaf.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.board.thymeleaf.domain.BoardFile;
+import com.board.thymeleaf.domain.BoardFileStatus;
+import com.board.thymeleaf.domain.FileBlob;
+import com.board.thymeleaf.event.BoardChangedEvent;
+import com.board.thymeleaf.event.BoardFilesRegisteredEvent;
+import com.board.thymeleaf.event.FileBlobStoredEvent;
+import com.board.thymeleaf.repository.BoardFileRepo;
+import com.board.thymeleaf.repository.FileBlobRepo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 첨부파일 저장소 (내용 주소 기반)
+ *
+ * 업로드 파일은 DB 트랜잭션을 시작하기 전에 staging 디렉터리에 쓰면서 SHA-256을 함께 계산하고(stage),
+ * 등록 트랜잭션에서 같은 해시의 file_blob이 있으면 참조 수만 올리고 없으면 새로 만듭니다(register).
+ * 커밋 후 새 내용만 크기가 제한된 I/O 스레드 풀에서 blob 경로로 옮기고, 이미 있던 내용의 staging 파일은 지웁니다.
+ * 대기열이 가득 차면 호출한 스레드(요청 스레드, 기동 시 복구 스레드)에서 직접 옮기므로 커밋된 업로드를 버리지 않습니다.
+ * 옮길 때 압축이 잘 되는 내용은 BoardFileCompressor로 gzip 압축해 두고 file_blob.content_encoding에 기록합니다.
+ * 저장이 끝나면 짧은 트랜잭션으로 file_blob과 이를 가리키는 board_file을 STORED로 바꾸며,
+ * 실패하면 옮긴 파일과 staging 파일을 지우고 FAILED로 바꿉니다. (같은 내용이 다시 올라오면 그 파일로 재시도)
+ * 커밋 후 처리 전에 종료된 PENDING 내용은 기동 시 recoverPending으로 다시 처리합니다.
+ * blob은 한 디렉터리에 몰리지 않도록 해시 앞 2자리씩 2단계 하위 디렉터리(blob/ab/cd/abcd...)에 둡니다.
+ * 오래 받지 않은 작은 blob은 BoardFilePackStore의 pack으로 옮겨지며, 읽는 쪽은 getContent로 위치와 관계없이 읽습니다.
+ */
+@Slf4j
+@Component
+public class BoardFileStorage {
+
+  private static final String STAGING_DIR = ".staging";
+  private static final String BLOB_DIR = "blob";
+  private static final int SHARD_LEVELS = 2;
+  private static final int SHARD_WIDTH = 2;
+  private static final String TEMP_SUFFIX = ".tmp";
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+  private final BoardFileRepo boardFileRepo;
+  private final FileBlobRepo fileBlobRepo;
+  private final BoardFileCompressor boardFileCompressor;
+  private final BoardFilePackStore boardFilePackStore;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate statusTransaction;
+  private final ThreadPoolExecutor storeExecutor;
+  private final String uploadPath;
+
+  public BoardFileStorage(
+      BoardFileRepo boardFileRepo,
+      FileBlobRepo fileBlobRepo,
+      BoardFileCompressor boardFileCompressor,
+      BoardFilePackStore boardFilePackStore,
+      ApplicationEventPublisher eventPublisher,
+      @Qualifier("boardTxManager") PlatformTransactionManager boardTxManager,
+      @Value("${path.upload}") String uploadPath,
+      @Value("${board.file.store-threads:2}") int storeThreads,
+      @Value("${board.file.store-queue-capacity:100}") int storeQueueCapacity) {
+    this.boardFileRepo = boardFileRepo;
+    this.fileBlobRepo = fileBlobRepo;
+    this.boardFileCompressor = boardFileCompressor;
+    this.boardFilePackStore = boardFilePackStore;
+    this.eventPublisher = eventPublisher;
+    this.uploadPath = uploadPath;
+
+    // 커밋 직후(이전 트랜잭션 자원이 아직 묶여 있는 시점)에도 호출되므로 항상 새 트랜잭션으로 상태 변경
+    this.statusTransaction = new TransactionTemplate(boardTxManager);
+    this.statusTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    AtomicInteger threadNo = new AtomicInteger();
+    // 종료 중에 거절된 작업은 실행되지 않지만 PENDING으로 남아 다음 기동 시 recoverPending에서 처리됨
+    this.storeExecutor = new ThreadPoolExecutor(storeThreads, storeThreads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(storeQueueCapacity),
+        r -> new Thread(r, "board-file-store-" + threadNo.incrementAndGet()),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  /**
+   * 업로드 파일을 staging 디렉터리에 쓰면서 SHA-256 계산 (DB 트랜잭션 밖에서 호출)
+   */
+  public List<StagedFile> stage(List<MultipartFile> files) throws IOException {
+    List<StagedFile> staged = new ArrayList<>();
+    if (files == null) {
+      return staged;
+    }
+
+    Path stagingPath = getStagingPath();
+    Files.createDirectories(stagingPath);
+    try {
+      for (MultipartFile file : files) {
+        if (file == null || file.isEmpty()) {
+          continue;
+        }
+        String fileName = file.getOriginalFilename();
+        if (fileName == null || fileName.isEmpty()) {
+          throw new IllegalArgumentException("파일명이 없습니다.");
+        }
+        String stagedName = UUID.randomUUID().toString();
+        Path stagedPath = stagingPath.resolve(stagedName);
+        MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+          Files.copy(in, stagedPath);
+        } catch (IOException | RuntimeException e) {
+          deleteQuietly(stagedPath);
+          throw e;
+        }
+        staged.add(new StagedFile(fileName, file.getSize(), stagedName, toHex(digest.digest())));
+      }
+    } catch (IOException | RuntimeException e) {
+      discard(staged);
+      throw e;
+    }
+    return staged;
+  }
+
+  /**
+   * staging 파일을 file_blob에 등록하고 board_file에 기록할 상태 반환 (등록 트랜잭션 안에서 호출)
+   *
+   * 같은 해시가 이미 저장되어 있으면 참조 수만 올리고 저장소에는 쓰지 않습니다.
+   */
+  public BoardFileStatus register(StagedFile file) {
+    FileBlob blob = fileBlobRepo.getFileBlobForUpdate(file.getHash());
+    if (blob == null) {
+      try {
+        fileBlobRepo.insertFileBlob(new FileBlob(file.getHash(), file.getFileSize(), 1, BoardFileStatus.PENDING, file.getStagedName(), null, null, null, null, null, null));
+        file.setStore(true);
+        return BoardFileStatus.PENDING;
+      } catch (DuplicateKeyException e) {
+        // 같은 내용이 동시에 등록된 경우
+        blob = fileBlobRepo.getFileBlobForUpdate(file.getHash());
+      }
+    }
+
+    blob.setRefCount(blob.getRefCount() + 1);
+    if (blob.getStatus() == BoardFileStatus.FAILED) {
+      blob.setStatus(BoardFileStatus.PENDING);
+      blob.setStagedName(file.getStagedName());
+      file.setStore(true);
+    }
+    fileBlobRepo.updateFileBlob(blob);
+    return blob.getStatus();
+  }
+
+  /**
+   * 첨부파일 삭제 시 blob 참조 해제 (삭제 트랜잭션 안에서 호출)
+   */
+  public void release(Integer fileSeq) {
+    fileBlobRepo.releaseFileBlobByFileSeq(fileSeq);
+  }
+
+  /**
+   * staging 파일 삭제 (등록 트랜잭션 실패 시)
+   */
+  public void discard(List<StagedFile> staged) {
+    for (StagedFile file : staged) {
+      deleteQuietly(getStagingPath().resolve(file.getStagedName()));
+    }
+  }
+
+  /**
+   * 첨부파일 내용 (pack에 있으면 pack 구간, 아니면 개별 파일)
+   */
+  public BoardFileContent getContent(BoardFile file) throws IOException {
+    if (file.getPackId() != null) {
+      return boardFilePackStore.getContent(file.getPackId(), file.getPackOffset(), file.getPackLength());
+    }
+    Path path = getFilePath(file);
+    if (!Files.isRegularFile(path)) {
+      throw new IllegalStateException("첨부파일이 저장소에 없습니다: " + file.getFileSeq());
+    }
+    return new FileContent(path);
+  }
+
+  /**
+   * 방금 저장된(pack에 넣기 전) blob 내용
+   */
+  public BoardFileContent getBlobContent(String hash) throws IOException {
+    return new FileContent(getStoredBlobPath(hash));
+  }
+
+  /**
+   * 첨부파일 실제 경로 (이전 방식으로 저장된 파일은 upload_path/upload_name 기준)
+   */
+  public Path getFilePath(BoardFile file) {
+    if (file.getBlobHash() == null) {
+      return getLegacyFilePath(file);
+    }
+    return getStoredBlobPath(file.getBlobHash());
+  }
+
+  /**
+   * 이전 방식 첨부파일 경로 ("board/", "./board", "/board" 등 upload_path 표기와 관계없이 같은 파일이면 같은 경로)
+   *
+   * @throws IllegalStateException upload 경로를 벗어나는 경우 ("../" 등)
+   */
+  public Path getLegacyFilePath(BoardFile file) {
+    String dir = file.getUploadPath() == null ? "" : file.getUploadPath();
+    Path path = Paths.get(uploadPath, dir, file.getUploadName()).toAbsolutePath().normalize();
+    if (!path.startsWith(getUploadRoot().toAbsolutePath().normalize())) {
+      throw new IllegalStateException("첨부파일 경로가 저장소를 벗어났습니다: " + file.getFileSeq());
+    }
+    return path;
+  }
+
+  /**
+   * 삭제되지 않은 이전 방식 첨부파일 중 path를 가리키는 것이 있는지 (같은 이름으로 조회 후 경로 비교)
+   */
+  public boolean isLegacyFileReferenced(Path path) {
+    return boardFileRepo.getLegacyBoardFileListByUploadName(path.getFileName().toString()).stream()
+        .anyMatch(file -> isLegacyFilePath(file, path));
+  }
+
+  private boolean isLegacyFilePath(BoardFile file, Path path) {
+    try {
+      return getLegacyFilePath(file).equals(path);
+    } catch (IllegalStateException e) {
+      return false;
+    }
+  }
+
+  /**
+   * 저장된 blob을 읽을 경로
+   */
+  public Path getStoredBlobPath(String hash) {
+    // 디렉터리 분산 이전에 blob 바로 아래 저장된 파일은 이관될 때까지 그 자리에서 읽음
+    Path blobPath = getBlobPath(hash);
+    Path flatPath = getBlobRoot().resolve(hash);
+    return Files.exists(blobPath) || !Files.exists(flatPath) ? blobPath : flatPath;
+  }
+
+  /**
+   * blob 디렉터리 (upload 경로 기준 상대 경로, board_file.upload_path에 기록)
+   */
+  public String getBlobDir(String hash) {
+    StringBuilder dir = new StringBuilder(BLOB_DIR);
+    for (int i = 0; i < SHARD_LEVELS; i++) {
+      dir.append('/').append(hash, i * SHARD_WIDTH, (i + 1) * SHARD_WIDTH);
+    }
+    return dir.toString();
+  }
+
+  public Path getBlobPath(String hash) {
+    return Paths.get(uploadPath, getBlobDir(hash), hash);
+  }
+
+  public Path getUploadRoot() {
+    return Paths.get(uploadPath);
+  }
+
+  public Path getBlobRoot() {
+    return Paths.get(uploadPath, BLOB_DIR);
+  }
+
+  /**
+   * 파일 내용의 SHA-256 (hex)
+   */
+  public String hash(Path file) throws IOException {
+    MessageDigest digest = newDigest();
+    try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      while (in.read(buffer) != -1) {
+        // DigestInputStream이 읽는 대로 갱신
+      }
+    }
+    return toHex(digest.digest());
+  }
+
+  /**
+   * 등록 트랜잭션 커밋 후 새 내용은 저장소로 옮기고 나머지 staging 파일은 삭제
+   */
+  @TransactionalEventListener
+  public void onFilesRegistered(BoardFilesRegisteredEvent event) {
+    for (StagedFile file : event.getFiles()) {
+      if (file.isStore()) {
+        submit(file.getHash(), file.getStagedName());
+      } else {
+        deleteQuietly(getStagingPath().resolve(file.getStagedName()));
+      }
+    }
+  }
+
+  /**
+   * 기동 시 PENDING 상태로 남은 내용 처리 (staging 파일이 없으면 FAILED)
+   */
+  public int recoverPending() {
+    List<FileBlob> pending = fileBlobRepo.getPendingFileBlobList();
+    for (FileBlob blob : pending) {
+      if (blob.getStagedName() != null && Files.exists(getStagingPath().resolve(blob.getStagedName()))) {
+        submit(blob.getHash(), blob.getStagedName());
+      } else {
+        log.warn("staging 파일이 없어 저장 실패로 처리합니다: {}", blob);
+        markStatus(blob.getHash(), BoardFileStatus.FAILED, null);
+      }
+    }
+    return pending.size();
+  }
+
+  /**
+   * 진행 중인 저장 작업을 마치고 종료 (남은 작업은 PENDING으로 남아 다음 기동 시 처리)
+   */
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    storeExecutor.shutdown();
+    if (!storeExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      log.warn("첨부파일 저장 작업이 종료되지 않았습니다.");
+    }
+  }
+
+  private void submit(String hash, String stagedName) {
+    storeExecutor.execute(() -> store(hash, stagedName));
+  }
+
+  /**
+   * staging 파일을 blob 경로로 옮기거나 압축해 쓴 뒤 STORED로 변경
+   */
+  private void store(String hash, String stagedName) {
+    Path target = null;
+    Path compressed = null;
+    try {
+      Path stagedPath = getStagingPath().resolve(stagedName);
+      Path blobPath = getBlobPath(hash);
+      Files.createDirectories(blobPath.getParent());
+      compressed = blobPath.resolveSibling(hash + "." + stagedName + TEMP_SUFFIX);
+      String contentEncoding = boardFileCompressor.compress(stagedPath, compressed);
+      // 이전에 실패한 시도가 남긴 파일이 있어도 내용이 같으므로 덮어씀
+      if (contentEncoding == null) {
+        target = Files.move(stagedPath, blobPath, StandardCopyOption.REPLACE_EXISTING);
+      } else {
+        target = Files.move(compressed, blobPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        deleteQuietly(stagedPath);
+      }
+      markStatus(hash, BoardFileStatus.STORED, contentEncoding);
+    } catch (Exception e) {
+      log.error("첨부파일 저장 실패: {}", hash, e);
+      if (compressed != null) {
+        deleteQuietly(compressed);
+      }
+      compensate(hash, stagedName, target);
+    }
+  }
+
+  /**
+   * 저장 실패 보상: 옮긴 파일/staging 파일 삭제 후 FAILED로 변경
+   */
+  private void compensate(String hash, String stagedName, Path target) {
+    if (target != null) {
+      deleteQuietly(target);
+    }
+    deleteQuietly(getStagingPath().resolve(stagedName));
+    try {
+      markStatus(hash, BoardFileStatus.FAILED, null);
+    } catch (Exception e) {
+      log.error("첨부파일 상태 변경 실패 (PENDING 유지): {}", hash, e);
+    }
+  }
+
+  /**
+   * blob과 이를 기다리던 첨부파일의 상태 변경 (contentEncoding은 STORED일 때 저장된 압축 형식)
+   */
+  private void markStatus(String hash, BoardFileStatus status, String contentEncoding) {
+    statusTransaction.executeWithoutResult(tx -> {
+      fileBlobRepo.updateFileBlobStatus(hash, status, contentEncoding);
+      List<Integer> boardSeqs = boardFileRepo.getUnstoredBoardSeqsByBlobHash(hash);
+      boardFileRepo.updateBoardFileStatusByBlobHash(hash, status);
+      if (!boardSeqs.isEmpty()) {
+        eventPublisher.publishEvent(BoardChangedEvent.of(boardSeqs));
+      }
+      if (status == BoardFileStatus.STORED) {
+        eventPublisher.publishEvent(new FileBlobStoredEvent(hash, contentEncoding));
+      }
+    });
+  }
+
+  Path getStagingPath() {
+    return Paths.get(uploadPath, STAGING_DIR);
+  }
+
+  static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(HASH_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static String toHex(byte[] hash) {
+    return String.format("%064x", new BigInteger(1, hash));
+  }
+
+  private void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("파일 삭제 실패: {}", path, e);
+    }
+  }
+
+  /**
+   * 개별 파일 (채널은 처음 전송할 때 열고 close에서 닫음)
+   */
+  private static class FileContent implements BoardFileContent {
+    private final Path path;
+    private final long length;
+    private FileChannel channel;
+
+    private FileContent(Path path) throws IOException {
+      this.path = path;
+      this.length = Files.size(path);
+    }
+
+    @Override
+    public long length() {
+      return length;
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+      return Files.getLastModifiedTime(path).toMillis();
+    }
+
+    @Override
+    public Path getFile() {
+      return path;
+    }
+
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+      if (channel == null) {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+      }
+      return channel.transferTo(position, count, target);
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+      return Files.newInputStream(path);
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (channel != null) {
+        channel.close();
+      }
+    }
+  }
+}
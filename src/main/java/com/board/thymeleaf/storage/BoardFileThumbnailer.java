@@ -0,0 +1,356 @@
+package com.board.thymeleaf.storage;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.board.thymeleaf.domain.BoardFile;
+import com.board.thymeleaf.domain.BoardFileStatus;
+import com.board.thymeleaf.domain.BoardFileThumbnailType;
+import com.board.thymeleaf.event.FileBlobStoredEvent;
+import com.board.thymeleaf.util.ConditionalRequestUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이미지 첨부파일 축소본 (javax.imageio)
+ *
+ * blob 저장이 끝나면(FileBlobStoredEvent) 별도 스레드에서 원본을 한 번만 읽어 PREVIEW를 만들고 이를 다시 줄여 THUMB을 만듭니다.
+ * 원본은 디코딩 단계에서 목표 크기의 2배 정도까지 건너뛰어 읽으므로(subsampling) 큰 사진도 전체 해상도로 메모리에 올리지 않습니다.
+ * 축소본은 원본 옆에 "해시.thumb.jpg" 형태로 두며, 내용이 해시로 고정되므로 응답에 긴 Cache-Control을 붙입니다.
+ * 이전 방식 파일 등 아직 축소본이 없으면 요청 시 같은 스레드 풀에서 만들어 저장합니다. (원본 참조가 없어지면 GC가 함께 정리)
+ * 같은 해시의 생성은 한 번만 진행하며(진행 중인 작업 공유), 요청은 waitMillis까지만 기다리고 끝나지 않으면 503(Retry-After)으로 응답합니다.
+ */
+@Slf4j
+@Component
+public class BoardFileThumbnailer {
+
+  private static final String FORMAT = "jpeg";
+  private static final String EXTENSION = ".jpg";
+  private static final String TEMP_SUFFIX = ".tmp";
+  private static final String CACHE_CONTROL = "private, max-age=31536000, immutable";
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+  private static final Set<String> READER_MIME_TYPES = new HashSet<>(Arrays.asList(ImageIO.getReaderMIMETypes()));
+
+  private final BoardFileStorage boardFileStorage;
+  private final BoardFileCompressor boardFileCompressor;
+  private final int thumbSize;
+  private final int previewSize;
+  private final float quality;
+  private final long maxPixels;
+  private final long waitMillis;
+  private final ThreadPoolExecutor thumbnailExecutor;
+  private final Map<String, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+  public BoardFileThumbnailer(
+      BoardFileStorage boardFileStorage,
+      BoardFileCompressor boardFileCompressor,
+      @Value("${board.file.thumbnail.thumb-size:240}") int thumbSize,
+      @Value("${board.file.thumbnail.preview-size:1280}") int previewSize,
+      @Value("${board.file.thumbnail.quality:0.85}") float quality,
+      @Value("${board.file.thumbnail.max-pixels:50000000}") long maxPixels,
+      @Value("${board.file.thumbnail.threads:1}") int threads,
+      @Value("${board.file.thumbnail.queue-capacity:100}") int queueCapacity,
+      @Value("${board.file.thumbnail.wait-millis:3000}") long waitMillis) {
+    this.boardFileStorage = boardFileStorage;
+    this.boardFileCompressor = boardFileCompressor;
+    this.thumbSize = thumbSize;
+    this.previewSize = previewSize;
+    this.quality = quality;
+    this.maxPixels = maxPixels;
+    this.waitMillis = waitMillis;
+
+    AtomicInteger threadNo = new AtomicInteger();
+    this.thumbnailExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        r -> new Thread(r, "board-file-thumbnail-" + threadNo.incrementAndGet()));
+  }
+
+  /**
+   * 축소본을 만들 수 있는 첨부파일인지 (저장된 blob이면서 파일명이 ImageIO로 읽을 수 있는 이미지 형식)
+   */
+  public boolean isSupported(BoardFile file) {
+    return file != null
+        && file.getBlobHash() != null
+        && file.getStatus() == BoardFileStatus.STORED
+        && MediaTypeFactory.getMediaType(file.getFileName())
+            .map(MediaType::toString)
+            .filter(READER_MIME_TYPES::contains)
+            .isPresent();
+  }
+
+  /**
+   * blob 저장 커밋 후 축소본 생성 (대기열이 가득 차면 건너뛰고 첫 요청 시 생성)
+   */
+  @TransactionalEventListener
+  public void onFileBlobStored(FileBlobStoredEvent event) {
+    String hash = event.getHash();
+    submit(hash, () -> boardFileStorage.getBlobContent(hash), event.getContentEncoding())
+        .whenComplete((generated, e) -> {
+          if (e instanceof RejectedExecutionException) {
+            log.warn("축소본 생성 대기열이 가득 찼습니다: {}", hash);
+          } else if (e != null) {
+            log.warn("축소본 생성 실패: {} ({})", hash, e.toString());
+          }
+        });
+  }
+
+  /**
+   * 축소본 응답 (이미지가 아니거나 읽을 수 없으면 404, 생성이 waitMillis 안에 끝나지 않거나 대기열이 가득 차면 503)
+   */
+  public void send(BoardFile file, BoardFileThumbnailType type, HttpServletRequest request, HttpServletResponse response) throws IOException {
+    if (!isSupported(file)) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+    String hash = file.getBlobHash();
+    Path path = getThumbnailPath(hash, type);
+    if (!Files.exists(path)) {
+      try {
+        if (!submit(hash, () -> boardFileStorage.getContent(file), file.getContentEncoding()).get(waitMillis, TimeUnit.MILLISECONDS)) {
+          response.sendError(HttpServletResponse.SC_NOT_FOUND);
+          return;
+        }
+      } catch (TimeoutException e) {
+        sendRetryLater(response);
+        return;
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RejectedExecutionException) {
+          sendRetryLater(response);
+        } else {
+          log.warn("축소본 생성 실패: {} ({})", file.getFileSeq(), e.getCause().toString());
+          response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        }
+        return;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        sendRetryLater(response);
+        return;
+      }
+    }
+
+    String etag = "\"" + hash + "-" + type.name().toLowerCase() + "\"";
+    if (ConditionalRequestUtil.checkNotModified(new ServletWebRequest(request, response), etag, CACHE_CONTROL)) {
+      return;
+    }
+    response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+    response.setContentLengthLong(Files.size(path));
+    Files.copy(path, response.getOutputStream());
+  }
+
+  /**
+   * 같은 해시의 생성 작업이 진행 중이면 그 결과를, 아니면 스레드 풀에 새로 맡긴 결과를 반환
+   */
+  private CompletableFuture<Boolean> submit(String hash, ContentSource source, String contentEncoding) {
+    CompletableFuture<Boolean> created = new CompletableFuture<>();
+    CompletableFuture<Boolean> running = inFlight.putIfAbsent(hash, created);
+    if (running != null) {
+      return running;
+    }
+    try {
+      thumbnailExecutor.execute(() -> {
+        try (BoardFileContent content = source.open()) {
+          created.complete(generate(hash, content, contentEncoding));
+        } catch (IOException | RuntimeException e) {
+          created.completeExceptionally(e);
+        } finally {
+          inFlight.remove(hash, created);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      inFlight.remove(hash, created);
+      created.completeExceptionally(e);
+    }
+    return created;
+  }
+
+  private void sendRetryLater(HttpServletResponse response) throws IOException {
+    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+  }
+
+  /**
+   * 진행 중인 생성 작업을 마치고 종료 (남은 축소본은 요청 시 생성)
+   */
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    thumbnailExecutor.shutdown();
+    if (!thumbnailExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      log.warn("축소본 생성 작업이 종료되지 않았습니다.");
+    }
+  }
+
+  /**
+   * blob 옆 축소본 경로 (해시.thumb.jpg)
+   */
+  public Path getThumbnailPath(String hash, BoardFileThumbnailType type) {
+    return boardFileStorage.getBlobPath(hash).resolveSibling(hash + "." + type.name().toLowerCase() + EXTENSION);
+  }
+
+  /**
+   * 원본을 한 번 읽어 큰 축소본부터 차례로 생성 (이미지가 아니거나 너무 크면 false)
+   */
+  boolean generate(String hash, BoardFileContent content, String contentEncoding) throws IOException {
+    BoardFileThumbnailType[] types = BoardFileThumbnailType.values();
+    Arrays.sort(types, Comparator.comparingInt(this::getMaxSize).reversed());
+
+    BufferedImage image;
+    if (contentEncoding == null && content.getFile() != null) {
+      image = read(hash, content.getFile().toFile(), getMaxSize(types[0]));
+    } else {
+      try (InputStream in = boardFileCompressor.decode(content.openStream(), contentEncoding)) {
+        image = read(hash, in, getMaxSize(types[0]));
+      }
+    }
+    if (image == null) {
+      return false;
+    }
+    for (BoardFileThumbnailType type : types) {
+      image = resize(image, getMaxSize(type));
+      write(image, getThumbnailPath(hash, type));
+    }
+    return true;
+  }
+
+  private int getMaxSize(BoardFileThumbnailType type) {
+    return type == BoardFileThumbnailType.THUMB ? thumbSize : previewSize;
+  }
+
+  /**
+   * 압축하지 않은 개별 파일에서 읽기 (임의 접근 가능)
+   */
+  private BufferedImage read(String hash, File file, int maxSize) throws IOException {
+    try (ImageInputStream in = ImageIO.createImageInputStream(file)) {
+      return decode(hash, in, maxSize);
+    }
+  }
+
+  /**
+   * pack 구간이나 압축을 푸는 스트림에서 읽기
+   */
+  private BufferedImage read(String hash, InputStream stream, int maxSize) throws IOException {
+    try (ImageInputStream in = ImageIO.createImageInputStream(stream)) {
+      return decode(hash, in, maxSize);
+    }
+  }
+
+  /**
+   * 긴 변이 maxSize의 2배 정도가 되도록 건너뛰며 디코딩 (읽을 수 있는 이미지가 아니면 null)
+   */
+  private BufferedImage decode(String hash, ImageInputStream in, int maxSize) throws IOException {
+    Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+    if (readers == null || !readers.hasNext()) {
+      return null;
+    }
+    ImageReader reader = readers.next();
+    try {
+      reader.setInput(in, true, true);
+      int width = reader.getWidth(0);
+      int height = reader.getHeight(0);
+      if ((long) width * height > maxPixels) {
+        log.warn("축소본을 만들기에 너무 큰 이미지입니다: {} ({}x{})", hash, width, height);
+        return null;
+      }
+      int subsampling = Math.max(1, Math.max(width, height) / (maxSize * 2));
+      ImageReadParam param = reader.getDefaultReadParam();
+      param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+      return reader.read(0, param);
+    } finally {
+      reader.dispose();
+    }
+  }
+
+  /**
+   * 긴 변이 maxSize 이하가 되도록 축소 (JPEG은 투명도가 없으므로 흰 배경 위에 그림)
+   */
+  private BufferedImage resize(BufferedImage source, int maxSize) {
+    double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+    int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+    int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+    BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = target.createGraphics();
+    try {
+      graphics.setColor(Color.WHITE);
+      graphics.fillRect(0, 0, width, height);
+      graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      graphics.drawImage(source, 0, 0, width, height, null);
+    } finally {
+      graphics.dispose();
+    }
+    return target;
+  }
+
+  /**
+   * 임시 파일에 JPEG으로 쓴 뒤 이름 변경 (동시에 만들어도 같은 내용이므로 덮어씀)
+   */
+  private void write(BufferedImage image, Path target) throws IOException {
+    Files.createDirectories(target.getParent());
+    Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + TEMP_SUFFIX);
+    ImageWriter writer = ImageIO.getImageWritersByFormatName(FORMAT).next();
+    try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(quality);
+      writer.setOutput(out);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    } finally {
+      writer.dispose();
+    }
+    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * 생성 스레드에서 여는 원본 내용
+   */
+  private interface ContentSource {
+    BoardFileContent open() throws IOException;
+  }
+}
@@ -0,0 +1,232 @@
+package com.board.thymeleaf.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이어받기 가능한 분할 업로드
+ *
+ * init에서 staging 디렉터리에 파일 크기만큼 미리 잡아 둔 파일을 만들고,
+ * 각 chunk는 요청 본문을 버퍼 하나로 읽어 FileChannel의 위치 지정 쓰기로 offset에 바로 기록합니다. (multipart 임시 파일 없음)
+ * chunk는 앞에서부터 이어서만 받으므로 SHA-256을 받는 즉시 갱신하고, 이미 받은 구간을 다시 보내면 그만큼 건너뜁니다.
+ * 연결이 끊겨도 그때까지 쓴 만큼 offset이 남으므로 클라이언트는 현재 offset을 조회해 이어서 보냅니다.
+ * 다 받은 업로드는 게시글 등록 시 complete로 StagedFile이 되어 기존 첨부파일 등록 흐름을 그대로 탑니다.
+ * 업로드 상태는 메모리에만 두며 expireMinutes 동안 진행이 없으면 파일과 함께 정리합니다.
+ * 따라서 재기동하면 진행 중이던 업로드는 이어받을 수 없습니다. (offset 조회가 '존재하지 않는 업로드'로 400을 돌려주므로
+ * 클라이언트는 init부터 다시 보내야 하며, 남은 staging 파일은 BoardFileGarbageCollector가 유예 시간 뒤 지웁니다)
+ * 서버를 여러 대 두는 경우에도 한 업로드의 요청은 같은 서버로 가야 합니다.
+ */
+@Slf4j
+@Component
+public class ResumableUploadStore {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final BoardFileStorage boardFileStorage;
+  private final long maxFileSize;
+  @Getter
+  private final int chunkSize;
+  private final long expireMillis;
+  private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+
+  public ResumableUploadStore(
+      BoardFileStorage boardFileStorage,
+      @Value("${spring.servlet.multipart.max-file-size:1MB}") DataSize maxFileSize,
+      @Value("${board.file.upload.chunk-size:5242880}") int chunkSize,
+      @Value("${board.file.upload.expire-minutes:1440}") long expireMinutes) {
+    this.boardFileStorage = boardFileStorage;
+    this.maxFileSize = maxFileSize.toBytes();
+    this.chunkSize = chunkSize;
+    this.expireMillis = TimeUnit.MINUTES.toMillis(expireMinutes);
+  }
+
+  /**
+   * 업로드 시작 (파일 크기만큼 staging 파일을 미리 할당하고 uploadId 반환)
+   */
+  public String init(String fileName, long fileSize) throws IOException {
+    if (fileName == null || fileName.trim().isEmpty()) {
+      throw new IllegalArgumentException("파일명이 없습니다.");
+    }
+    if (fileSize < 0 || fileSize > maxFileSize) {
+      throw new IllegalArgumentException(String.format("파일 크기는 %d bytes 이하여야 합니다.", maxFileSize));
+    }
+
+    String uploadId = UUID.randomUUID().toString();
+    Path path = getPath(uploadId);
+    Files.createDirectories(path.getParent());
+    try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+      file.setLength(fileSize);
+    }
+    uploads.put(uploadId, new Upload(fileName, fileSize));
+    return uploadId;
+  }
+
+  /**
+   * 현재까지 받은 크기 (이어서 보낼 offset)
+   */
+  public long getOffset(String uploadId) {
+    return getUpload(uploadId).offset;
+  }
+
+  /**
+   * 진행 중인 업로드인지 (staging 파일 정리 시 제외 대상)
+   */
+  public boolean isActive(String uploadId) {
+    return uploads.containsKey(uploadId);
+  }
+
+  /**
+   * offset부터 요청 본문을 기록하고 기록 후 offset 반환
+   *
+   * 받은 크기보다 앞선 offset은 재전송으로 보고 겹치는 부분을 건너뛰며, 뒤쪽 offset은 거부합니다.
+   */
+  public long write(String uploadId, long offset, InputStream in) throws IOException {
+    Upload upload = getUpload(uploadId);
+    synchronized (upload) {
+      if (!uploads.containsKey(uploadId)) {
+        throw new IllegalArgumentException("존재하지 않는 업로드입니다: " + uploadId);
+      }
+      if (offset < 0 || offset > upload.offset) {
+        throw new IllegalArgumentException(String.format("offset이 맞지 않습니다. (요청 %d, 현재 %d)", offset, upload.offset));
+      }
+
+      ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+      ReadableByteChannel source = Channels.newChannel(in);
+      long position = offset;
+      try (FileChannel channel = FileChannel.open(getPath(uploadId), StandardOpenOption.WRITE)) {
+        while (source.read(buffer) != -1) {
+          buffer.flip();
+          if (position < upload.offset) {
+            int skip = (int) Math.min(buffer.remaining(), upload.offset - position);
+            buffer.position(buffer.position() + skip);
+            position += skip;
+          }
+          if (position + buffer.remaining() > upload.fileSize) {
+            throw new IllegalArgumentException("파일 크기를 넘는 데이터입니다: " + uploadId);
+          }
+          ByteBuffer written = buffer.duplicate();
+          while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+          }
+          upload.digest.update(written);
+          upload.offset = position;
+          buffer.clear();
+        }
+      } finally {
+        upload.touchedAt = System.currentTimeMillis();
+      }
+      return upload.offset;
+    }
+  }
+
+  /**
+   * 다 받은 업로드를 staging 파일로 넘김 (이후 삭제/저장은 BoardFileStorage가 처리)
+   */
+  public List<StagedFile> complete(List<String> uploadIds) {
+    List<StagedFile> staged = new ArrayList<>();
+    for (String uploadId : uploadIds) {
+      Upload upload = getUpload(uploadId);
+      synchronized (upload) {
+        if (upload.offset != upload.fileSize) {
+          throw new IllegalArgumentException(String.format("업로드가 끝나지 않았습니다: %s (%d/%d)", uploadId, upload.offset, upload.fileSize));
+        }
+      }
+    }
+    for (String uploadId : uploadIds) {
+      Upload upload = uploads.remove(uploadId);
+      if (upload == null) {
+        boardFileStorage.discard(staged);
+        throw new IllegalArgumentException("이미 사용된 업로드입니다: " + uploadId);
+      }
+      synchronized (upload) {
+        staged.add(new StagedFile(upload.fileName, upload.fileSize, uploadId, BoardFileStorage.toHex(upload.digest.digest())));
+      }
+    }
+    return staged;
+  }
+
+  /**
+   * 업로드 취소
+   */
+  public void abort(String uploadId) {
+    Upload upload = uploads.remove(uploadId);
+    if (upload != null) {
+      synchronized (upload) {
+        deleteQuietly(getPath(uploadId));
+      }
+    }
+  }
+
+  /**
+   * 오래 진행이 없는 업로드 정리
+   */
+  @Scheduled(fixedDelayString = "${board.file.upload.cleanup-interval:600000}")
+  public void expire() {
+    long expiredBefore = System.currentTimeMillis() - expireMillis;
+    uploads.forEach((uploadId, upload) -> {
+      if (upload.touchedAt < expiredBefore) {
+        log.info("만료된 업로드 정리: {} ({})", uploadId, upload.fileName);
+        abort(uploadId);
+      }
+    });
+  }
+
+  private Upload getUpload(String uploadId) {
+    Upload upload = uploadId == null ? null : uploads.get(uploadId);
+    if (upload == null) {
+      throw new IllegalArgumentException("존재하지 않는 업로드입니다: " + uploadId);
+    }
+    return upload;
+  }
+
+  private Path getPath(String uploadId) {
+    return boardFileStorage.getStagingPath().resolve(uploadId);
+  }
+
+  private void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("파일 삭제 실패: {}", path, e);
+    }
+  }
+
+  /**
+   * 진행 중인 업로드 (쓰기와 완료 처리는 인스턴스 잠금 안에서)
+   */
+  private static class Upload {
+    private final String fileName;
+    private final long fileSize;
+    private final MessageDigest digest = BoardFileStorage.newDigest();
+    private volatile long offset;
+    private volatile long touchedAt = System.currentTimeMillis();
+
+    private Upload(String fileName, long fileSize) {
+      this.fileName = fileName;
+      this.fileSize = fileSize;
+    }
+  }
+}
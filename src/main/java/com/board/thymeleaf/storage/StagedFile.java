@@ -0,0 +1,23 @@
+package com.board.thymeleaf.storage;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 임시 저장(staging)된 업로드 파일
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+public class StagedFile {
+  private final String fileName;    // 원본 파일명
+  private final long fileSize;
+  private final String stagedName;  // staging 디렉터리 안의 파일명
+  private final String hash;        // 내용 SHA-256 (hex)
+
+  /** 커밋 후 저장소에 써야 하는지 (같은 내용이 이미 있으면 false) */
+  @Setter
+  private boolean store;
+}
@@ -0,0 +1,43 @@
+package com.board.thymeleaf.util;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * 조건부 요청(If-None-Match) 처리 유틸리티 클래스
+ *
+ * Spring Security 기본 헤더(no-store)가 붙으면 브라우저가 응답을 보관하지 않아 재검증 자체가 일어나지 않으므로,
+ * ETag를 사용하는 응답은 먼저 Cache-Control을 지정합니다. (이미 지정된 경우 Security는 덮어쓰지 않음)
+ */
+public class ConditionalRequestUtil {
+
+  private static final String CACHE_CONTROL = "private, no-cache";
+
+  private ConditionalRequestUtil() {}
+
+  /**
+   * ETag가 일치하면 304 응답을 설정하고 true 반환
+   *
+   * @param request 현재 요청
+   * @param etag 강한 ETag (따옴표 포함)
+   * @return 304로 응답해야 하면 true (호출 측은 조회/렌더링 없이 반환)
+   */
+  public static boolean checkNotModified(ServletWebRequest request, String etag) {
+    return checkNotModified(request, etag, CACHE_CONTROL);
+  }
+
+  /**
+   * Cache-Control을 지정해 ETag 비교 (내용이 바뀌지 않는 응답에 긴 보관 기간을 줄 때)
+   *
+   * @param cacheControl Cache-Control 헤더 값
+   */
+  public static boolean checkNotModified(ServletWebRequest request, String etag, String cacheControl) {
+    HttpServletResponse response = request.getResponse();
+    if (response != null) {
+      response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+    }
+    return request.checkNotModified(etag);
+  }
+}
@@ -0,0 +1,33 @@
+package com.board.thymeleaf.util;
+
+/**
+ * 목록용 본문 요약(excerpt) 유틸리티 클래스
+ *
+ * 설정한 길이가 컬럼 길이(board.excerpt VARCHAR(500))보다 길어도 MAX_LENGTH 글자까지만 만듭니다.
+ */
+public class ExcerptUtil {
+
+  /** 요약 최대 길이 (board.excerpt 컬럼 길이와 같아야 함) */
+  public static final int MAX_LENGTH = 500;
+
+  private ExcerptUtil() {}
+
+  /**
+   * 앞뒤 공백을 제거한 본문의 앞부분 length 글자 (최대 MAX_LENGTH)
+   */
+  public static String create(String content, int length) {
+    if (content == null) {
+      return null;
+    }
+    String trimmed = content.trim();
+    int limit = clampLength(length);
+    return trimmed.length() > limit ? trimmed.substring(0, limit) : trimmed;
+  }
+
+  /**
+   * 요약 길이를 0 ~ MAX_LENGTH로 제한
+   */
+  public static int clampLength(int length) {
+    return Math.max(0, Math.min(length, MAX_LENGTH));
+  }
+}
@@ -0,0 +1,60 @@
+package com.board.thymeleaf.util;
+
+/**
+ * 답글 정렬 키(thread_key) 유틸리티 클래스
+ *
+ * thread_key는 부모 키 뒤에 고정 길이(5자리) 구간을 덧붙인 경로입니다.
+ * 같은 그룹 안에서 thread_key 오름차순이 곧 목록 순서가 되므로,
+ * 답글 등록 시 형제 글의 순서 값을 밀어낼(UPDATE) 필요가 없습니다.
+ *
+ * 기존 동작과 같이 최근 답글이 부모 바로 아래에 오도록 구간 값은 (99999 - 답글 번호)로 만듭니다.
+ * 컬럼 길이(board.thread_key VARCHAR(500))를 넘지 않도록 답글 깊이는 MAX_DEPTH까지만 허용합니다.
+ */
+public class ThreadKeyUtil {
+
+  /** 구간 길이 */
+  public static final int SEGMENT_LENGTH = 5;
+
+  /** 부모 하나에 달 수 있는 최대 답글 수 */
+  public static final int MAX_REPLY_COUNT = 99998;
+
+  /** thread_key 최대 길이 (board.thread_key 컬럼 길이와 같아야 함) */
+  public static final int MAX_KEY_LENGTH = 500;
+
+  /** 최대 답글 깊이 (원글 0) */
+  public static final int MAX_DEPTH = MAX_KEY_LENGTH / SEGMENT_LENGTH - 1;
+
+  /** 원글의 thread_key */
+  public static final String ROOT_KEY = "00000";
+
+  private static final int SEGMENT_MAX = 99999;
+
+  private ThreadKeyUtil() {}
+
+  /**
+   * 답글의 thread_key 생성
+   *
+   * @param parentKey 부모 글의 thread_key
+   * @param replyNo 부모 글 기준 답글 번호 (1부터)
+   * @return 답글의 thread_key
+   */
+  public static String childKey(String parentKey, int replyNo) {
+    if (replyNo < 1 || replyNo > MAX_REPLY_COUNT) {
+      throw new IllegalStateException("답글 수가 허용 범위를 벗어났습니다: " + replyNo);
+    }
+    if (parentKey.length() + SEGMENT_LENGTH > MAX_KEY_LENGTH) {
+      throw new IllegalArgumentException(String.format("답글은 %d단계까지만 달 수 있습니다.", MAX_DEPTH));
+    }
+    return parentKey + String.format("%0" + SEGMENT_LENGTH + "d", SEGMENT_MAX - replyNo);
+  }
+
+  /**
+   * 부모 글의 thread_key (원글이면 null)
+   */
+  public static String parentKey(String threadKey) {
+    if (threadKey == null || threadKey.length() <= SEGMENT_LENGTH) {
+      return null;
+    }
+    return threadKey.substring(0, threadKey.length() - SEGMENT_LENGTH);
+  }
+}
@@ -1,3 +1,6 @@
+-- 게시판 목록 건수 초기값
+INSERT INTO board_stat (stat_id, total_count, delete_count, upd_date) VALUES (1, 0, 0, CURRENT_TIMESTAMP);
+
 -- 조직도 샘플 데이터
 
 -- 1. organization 테이블에 조직 정보 INSERT
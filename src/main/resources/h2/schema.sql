@@ -1,11 +1,22 @@
+-- ID 채번 시퀀스 (INCREMENT BY는 IdSequence.blockSize와 같아야 함)
+-- 초기 조직(1~4, data.sql) 이후부터 채번하도록 organization_seq는 5부터 시작
+CREATE SEQUENCE IF NOT EXISTS board_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS board_file_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS organization_seq START WITH 5 INCREMENT BY 20;
+CREATE SEQUENCE IF NOT EXISTS password_reset_seq START WITH 1 INCREMENT BY 20;
+
 CREATE TABLE board (
 	seq NUMBER NOT NULL PRIMARY KEY,
 	title VARCHAR(200) NOT NULL,
 	content VARCHAR(2000) NOT NULL,
+	excerpt VARCHAR(500),	-- 목록용 본문 요약 (등록/수정 시 생성)
 	display BIT,
 	group_id INT NOT NULL,
-	group_order INT NOT NULL,
+	group_order INT NOT NULL,	-- 부모 글 기준 답글 번호 (원글은 0)
+	thread_key VARCHAR(500),	-- 그룹 내 정렬 경로 (ThreadKeyUtil)
 	depth INT NOT NULL,
+	reply_count INT DEFAULT 0 NOT NULL,	-- 답글 번호 채번용
+	hits BIGINT DEFAULT 0 NOT NULL,	-- 조회수 (BoardViewCounter가 모아서 반영)
 	delete_yn BIT,
 	reg_date DATETIME,
 	reg_id VARCHAR(10),
@@ -13,6 +24,17 @@ CREATE TABLE board (
 	upd_id VARCHAR(10)
 );
 
+-- 목록 정렬(group_id DESC, thread_key ASC) 순서의 인덱스 (keyset 페이징)
+CREATE INDEX idx_board_thread_key ON board (group_id DESC, thread_key ASC);
+
+-- 게시판 목록 건수 (목록 조회마다 COUNT 하지 않도록 등록/삭제 시 함께 갱신)
+CREATE TABLE board_stat (
+	stat_id INT NOT NULL PRIMARY KEY,
+	total_count NUMBER DEFAULT 0 NOT NULL,
+	delete_count NUMBER DEFAULT 0 NOT NULL,
+	upd_date DATETIME
+);
+
 CREATE TABLE board_file (
 	file_seq NUMBER NOT NULL PRIMARY KEY,
 	board_seq NUMBER NOT NULL,
@@ -20,6 +42,8 @@ CREATE TABLE board_file (
 	file_size INT NOT NULL,
 	upload_name VARCHAR(500) NOT NULL,
 	upload_path VARCHAR(500) NOT NULL,
+	status VARCHAR(10) DEFAULT 'STORED' NOT NULL,	-- 저장 상태 (BoardFileStatus)
+	blob_hash CHAR(64),	-- 첨부파일 내용(file_blob) SHA-256, 이전 방식으로 저장된 파일은 NULL
 	delete_yn BIT,
 	reg_date DATETIME,
 	reg_id VARCHAR(10),
@@ -28,6 +52,63 @@ CREATE TABLE board_file (
 	FOREIGN KEY (board_seq) REFERENCES board(seq)
 );
 
+-- 첨부파일 내용 저장소 (SHA-256 기준 중복 제거, ref_count는 삭제되지 않은 board_file 참조 수)
+CREATE TABLE file_blob (
+	hash CHAR(64) NOT NULL PRIMARY KEY,
+	file_size BIGINT NOT NULL,
+	ref_count INT DEFAULT 0 NOT NULL,
+	status VARCHAR(10) NOT NULL,	-- 저장 상태 (BoardFileStatus)
+	staged_name VARCHAR(100),	-- 저장소로 옮기기 전 staging 파일명 (PENDING일 때만)
+	content_encoding VARCHAR(20),	-- 압축 저장 형식 (gzip, 압축하지 않았으면 NULL)
+	pack_id VARCHAR(36),	-- 묶음 파일(pack) ID (개별 파일로 저장되어 있으면 NULL)
+	pack_offset BIGINT,	-- pack 안의 시작 위치
+	pack_length BIGINT,	-- pack 안의 길이 (저장된 크기, 압축 시 압축본 기준)
+	accessed_date DATETIME,	-- 마지막 다운로드 시각 (pack 이관 대상 판단, 주기적으로 반영)
+	reg_date DATETIME,
+	upd_date DATETIME
+);
+
+CREATE INDEX idx_board_file_blob_hash ON board_file (blob_hash);
+CREATE INDEX idx_file_blob_pack_id ON file_blob (pack_id);
+
+-- 삭제 후 보관 이관된 게시글/첨부파일 (BoardArchiveJob, 목록 조회 대상 아님)
+CREATE TABLE board_archive (
+	seq NUMBER NOT NULL PRIMARY KEY,
+	title VARCHAR(200) NOT NULL,
+	content VARCHAR(2000) NOT NULL,
+	excerpt VARCHAR(500),
+	display BIT,
+	group_id INT NOT NULL,
+	group_order INT NOT NULL,
+	thread_key VARCHAR(500),
+	depth INT NOT NULL,
+	reply_count INT DEFAULT 0 NOT NULL,
+	hits BIGINT DEFAULT 0 NOT NULL,
+	delete_yn BIT,
+	reg_date DATETIME,
+	reg_id VARCHAR(10),
+	upd_date DATETIME,
+	upd_id VARCHAR(10),
+	archived_date DATETIME NOT NULL
+);
+
+CREATE TABLE board_file_archive (
+	file_seq NUMBER NOT NULL PRIMARY KEY,
+	board_seq NUMBER NOT NULL,
+	file_name VARCHAR(500) NOT NULL,
+	file_size INT NOT NULL,
+	upload_name VARCHAR(500) NOT NULL,
+	upload_path VARCHAR(500) NOT NULL,
+	status VARCHAR(10) DEFAULT 'STORED' NOT NULL,
+	blob_hash CHAR(64),
+	delete_yn BIT,
+	reg_date DATETIME,
+	reg_id VARCHAR(10),
+	upd_date DATETIME,
+	upd_id VARCHAR(10),
+	archived_date DATETIME NOT NULL
+);
+
 CREATE TABLE organization (
     org_id      NUMBER PRIMARY KEY,
     org_name    VARCHAR2(100) NOT NULL
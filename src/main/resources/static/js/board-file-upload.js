@@ -4,6 +4,10 @@
 (function() {
   'use strict';
 
+  const UPLOAD_URL = '/board/file/upload';
+  const MAX_RETRY = 5;
+  const RETRY_DELAY = 1000;
+
   /**
    * 파일 업로드 매니저 팩토리 함수
    * 각 페이지마다 독립적인 인스턴스를 생성
@@ -211,9 +215,74 @@
       },
 
       /**
-       * 폼 저장
+       * JSON 요청 (실패 응답은 { data, response }로 reject)
+       */
+      requestJson: function(url, options) {
+        return fetch(url, {
+          ...options,
+          headers: {...(options.headers || {}), 'Accept': 'application/json'}
+        }).then(response => response.json().then(data => {
+          if (!response.ok) {
+            return Promise.reject({ data, response });
+          }
+          return data;
+        }));
+      },
+
+      /**
+       * 분할 업로드 (chunk 전송이 끊기면 서버의 offset을 다시 조회해 이어서 전송)
+       */
+      uploadFile: async function(file) {
+        const init = await this.requestJson(UPLOAD_URL, {
+          method: 'POST',
+          body: new URLSearchParams({fileName: file.name, fileSize: file.size})
+        });
+        const uploadUrl = `${UPLOAD_URL}/${encodeURIComponent(init.uploadId)}`;
+        let offset = init.offset;
+        let retry = 0;
+
+        while (offset < file.size) {
+          try {
+            const result = await this.requestJson(uploadUrl, {
+              method: 'PATCH',
+              body: file.slice(offset, offset + init.chunkSize),
+              headers: {'Content-Type': 'application/offset+octet-stream', 'Upload-Offset': String(offset)}
+            });
+            offset = result.offset;
+            retry = 0;
+          } catch (error) {
+            // 서버가 거부한 요청(4xx)은 다시 보내도 같은 결과
+            if ((error.response && error.response.status < 500) || ++retry > MAX_RETRY) {
+              throw error;
+            }
+            await new Promise(resolve => setTimeout(resolve, RETRY_DELAY * retry));
+            offset = await this.requestJson(uploadUrl, {method: 'GET'})
+              .then(status => status.offset)
+              .catch(() => offset);
+          }
+          this.updateProgress(file, offset);
+        }
+        return init.uploadId;
+      },
+
+      /**
+       * 업로드 진행률 표시
        */
-      save: function(e, actionUrl) {
+      updateProgress: function(file, offset) {
+        const option = [...this.select.options].find(o => {
+          const item = this.ui.files.find(({key}) => key === o.value);
+          return item && item.file === file;
+        });
+        if (option) {
+          const percent = file.size > 0 ? Math.floor(offset * 100 / file.size) : 100;
+          option.textContent = `${file.name} (업로드 ${percent}%)`;
+        }
+      },
+
+      /**
+       * 폼 저장 (새 파일은 먼저 분할 업로드한 뒤 uploadIds로 전달)
+       */
+      save: async function(e, actionUrl) {
         e.preventDefault();
 
         const uploadFiles = this.ui.files.filter(({mode}) => mode === "REG");
@@ -225,10 +294,19 @@
         formData.append("baseFileInfo", JSON.stringify(baseKey));
 
         // upload
-        const fileInfo = uploadFiles.map(({file, key, mode, name, size, type, ...o}, i) => {
-          formData.append('file', file);
-          return {...o};
-        });
+        const uploadIds = [];
+        const fileInfo = [];
+        try {
+          for (const {file, key, mode, name, size, type, ...o} of uploadFiles) {
+            uploadIds.push(await this.uploadFile(file));
+            fileInfo.push({...o});
+          }
+        } catch (error) {
+          console.error('Upload error:', error);
+          alert((error.data && error.data.message) || '파일 업로드 중 오류가 발생했습니다.');
+          return;
+        }
+        formData.append('uploadIds', JSON.stringify(uploadIds));
         formData.append('fileInfo', JSON.stringify(fileInfo));
 
         // remove
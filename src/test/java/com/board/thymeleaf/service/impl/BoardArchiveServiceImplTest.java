@@ -0,0 +1,135 @@
+package com.board.thymeleaf.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.board.thymeleaf.domain.BoardArchiveResult;
+import com.board.thymeleaf.service.ifc.BoardArchiveService;
+import com.board.thymeleaf.service.ifc.BoardService;
+
+/**
+ * 삭제 게시글 보관 이관 테스트
+ *
+ * 첨부파일이 있는 답글 트리에서 하위 답글이 남은 삭제 글은 유지하고,
+ * 답글까지 모두 삭제되면 글과 첨부파일을 함께 옮기며 blob 참조 수를 차감해야 합니다.
+ * 업로드 경로가 달라 컨텍스트가 따로 뜨므로, 캐시된 다른 컨텍스트의 in-memory DB에 schema.sql을 다시 실행하지 않도록 DB도 따로 둡니다.
+ */
+@SpringBootTest(properties = "thymeleaf.datasource.db-board.jdbc-url=jdbc:h2:mem:${random.uuid}")
+@DirtiesContext
+class BoardArchiveServiceImplTest {
+
+	private static final Path UPLOAD_ROOT = createUploadRoot();
+
+	@DynamicPropertySource
+	static void uploadPath(DynamicPropertyRegistry registry) {
+		registry.add("path.upload", UPLOAD_ROOT::toString);
+	}
+
+	@Autowired
+	private BoardArchiveService boardArchiveService;
+
+	@Autowired
+	private BoardService boardService;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void archivesDeletedThreadWithFiles() throws Exception {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		int root = insert(null, "archive root", "root file");
+		int deletedReply = insert(root, "archive deleted reply", "reply file");
+		int liveReply = insert(root, "archive live reply", null);
+		String rootHash = getBlobHash(jdbcTemplate, root);
+		String replyHash = getBlobHash(jdbcTemplate, deletedReply);
+
+		boardService.deleteBoard(deletedReply);
+		boardService.deleteBoard(root);
+		boardArchiveService.archiveDeleted();
+
+		// 답글이 남은 원글은 '삭제된 글'로 유지하고 첨부파일도 그대로
+		assertEquals(List.of(root, liveReply), getBoardSeqs(jdbcTemplate, root, deletedReply, liveReply));
+		assertEquals(List.of(deletedReply), getArchivedSeqs(jdbcTemplate, root, deletedReply, liveReply));
+		assertEquals(1, countFiles(jdbcTemplate, "board_file_archive", deletedReply));
+		assertEquals(1, countFiles(jdbcTemplate, "board_file", root));
+		assertEquals(0, getRefCount(jdbcTemplate, replyHash));
+		assertEquals(1, getRefCount(jdbcTemplate, rootHash));
+
+		// 마지막 답글까지 삭제되면 한 번 실행에 답글, 원글 순으로 모두 이관
+		boardService.deleteBoard(liveReply);
+		BoardArchiveResult result = boardArchiveService.archiveDeleted();
+
+		assertTrue(result.getBatchCount() >= 2);
+		assertEquals(Collections.emptyList(), getBoardSeqs(jdbcTemplate, root, deletedReply, liveReply));
+		assertEquals(List.of(root, deletedReply, liveReply), getArchivedSeqs(jdbcTemplate, root, deletedReply, liveReply));
+		assertEquals(1, countFiles(jdbcTemplate, "board_file_archive", root));
+		assertEquals(0, countFiles(jdbcTemplate, "board_file", root));
+		assertEquals(0, getRefCount(jdbcTemplate, rootHash));
+	}
+
+	private int insert(Integer parentSeq, String title, String fileContent) throws Exception {
+		List<MultipartFile> files = fileContent == null ? Collections.emptyList()
+				: List.of(new MockMultipartFile("file", title + ".txt", "text/plain", fileContent.getBytes(StandardCharsets.UTF_8)));
+		Map<String, Object> map = new HashMap<>();
+		map.put("title", title);
+		map.put("content", title);
+		map.put("display", "true");
+		if (parentSeq == null) {
+			boardService.insertBoard(files, map);
+		} else {
+			map.put("parentSeq", String.valueOf(parentSeq));
+			boardService.insertReplyBoard(files, map);
+		}
+		return new JdbcTemplate(dataSource).queryForObject("SELECT MAX(seq) FROM board WHERE title = ?", Integer.class, title);
+	}
+
+	private String getBlobHash(JdbcTemplate jdbcTemplate, int boardSeq) {
+		return jdbcTemplate.queryForObject("SELECT blob_hash FROM board_file WHERE board_seq = ?", String.class, boardSeq);
+	}
+
+	private int getRefCount(JdbcTemplate jdbcTemplate, String hash) {
+		return jdbcTemplate.queryForObject("SELECT ref_count FROM file_blob WHERE hash = ?", Integer.class, hash);
+	}
+
+	private List<Integer> getBoardSeqs(JdbcTemplate jdbcTemplate, Object... seqs) {
+		return jdbcTemplate.queryForList("SELECT seq FROM board WHERE seq IN (?, ?, ?) ORDER BY seq", Integer.class, seqs);
+	}
+
+	private List<Integer> getArchivedSeqs(JdbcTemplate jdbcTemplate, Object... seqs) {
+		return jdbcTemplate.queryForList("SELECT seq FROM board_archive WHERE seq IN (?, ?, ?) ORDER BY seq", Integer.class, seqs);
+	}
+
+	private int countFiles(JdbcTemplate jdbcTemplate, String table, int boardSeq) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE board_seq = ?", Integer.class, boardSeq);
+	}
+
+	private static Path createUploadRoot() {
+		try {
+			return Files.createTempDirectory("board-archive");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
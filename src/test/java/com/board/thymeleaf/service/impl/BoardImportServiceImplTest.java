@@ -0,0 +1,213 @@
+package com.board.thymeleaf.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.board.thymeleaf.domain.Board;
+import com.board.thymeleaf.domain.BoardFile;
+import com.board.thymeleaf.domain.BoardImportResult;
+import com.board.thymeleaf.domain.BoardImportRow;
+import com.board.thymeleaf.repository.BoardRepo;
+import com.board.thymeleaf.repository.BoardStatRepo;
+import com.board.thymeleaf.service.ifc.BoardImportService;
+import com.board.thymeleaf.util.ThreadKeyUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시글 일괄 등록 테스트
+ *
+ * chunk 여러 개(원글 1 + 답글 3 반복, 10건마다 첨부파일 1개)에 걸쳐 등록한 결과와 답글 순서, 첨부파일 경로 검증을 확인합니다.
+ * 설정이 달라 컨텍스트가 따로 뜨므로, 캐시된 다른 컨텍스트의 in-memory DB에 schema.sql을 다시 실행하지 않도록 DB도 따로 둡니다.
+ */
+@Slf4j
+@SpringBootTest(properties = { "board.import.chunk-size=100", "thymeleaf.datasource.db-board.jdbc-url=jdbc:h2:mem:${random.uuid}" })
+@DirtiesContext
+class BoardImportServiceImplTest {
+
+	private static final int POST_COUNT = 1_000;
+	private static final int BENCHMARK_POST_COUNT = 100_000;
+
+	@Autowired
+	private BoardImportService boardImportService;
+
+	@Autowired
+	private BoardRepo boardRepo;
+
+	@Autowired
+	private BoardStatRepo boardStatRepo;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void importPostsInChunks() throws Exception {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		int totalBefore = boardStatRepo.getBoardStat().getTotalCount();
+		int filesBefore = countImportedFiles(jdbcTemplate);
+		byte[] input = createInput(POST_COUNT);
+
+		BoardImportResult result = boardImportService.importBoard(new ByteArrayInputStream(input));
+
+		assertEquals(POST_COUNT, result.getPostCount());
+		assertEquals(POST_COUNT * 3 / 4, result.getReplyCount());
+		assertEquals(POST_COUNT / 10, result.getFileCount());
+		assertEquals(POST_COUNT / 100, result.getChunkCount());
+		assertEquals(totalBefore + POST_COUNT, boardStatRepo.getBoardStat().getTotalCount());
+		assertEquals(filesBefore + POST_COUNT / 10, countImportedFiles(jdbcTemplate));
+		// 원글마다 답글 2개(두 번째 답글은 첫 답글의 답글)
+		assertEquals(0, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM board WHERE title LIKE 'import %' AND depth = 0 AND title NOT LIKE 'import reply%' AND reply_count <> 2", Integer.class).intValue());
+	}
+
+	@Test
+	@Disabled("처리량 측정용 - 필요할 때 직접 실행")
+	void importBenchmark() throws Exception {
+		byte[] input = createInput(BENCHMARK_POST_COUNT);
+
+		BoardImportResult result = boardImportService.importBoard(new ByteArrayInputStream(input));
+
+		log.info("게시글 일괄 등록 처리량: {}건/초 ({})", result.getPostsPerSecond(), result);
+		assertEquals(BENCHMARK_POST_COUNT, result.getPostCount());
+	}
+
+	@Test
+	void importNormalizesUploadPath() throws Exception {
+		BoardImportRow row = row("p1", null, "path-normalized");
+		BoardFile file = file(1);
+		file.setUploadName("normalized.txt");
+		file.setUploadPath("./board/2024/");
+		row.setFiles(Collections.singletonList(file));
+
+		boardImportService.importBoard(new ByteArrayInputStream(toJsonLines(Collections.singletonList(row))));
+
+		assertEquals("board/2024", new JdbcTemplate(dataSource).queryForObject(
+				"SELECT upload_path FROM board_file WHERE upload_name = 'normalized.txt'", String.class));
+	}
+
+	@Test
+	void importRejectsPathOutsideUploadRoot() throws Exception {
+		for (String[] location : new String[][] { { "board/../../etc", "passwd" }, { "/etc", "passwd" }, { "board", "../x.txt" } }) {
+			BoardImportRow row = row("bad", null, "path-rejected");
+			BoardFile file = file(1);
+			file.setUploadPath(location[0]);
+			file.setUploadName(location[1]);
+			row.setFiles(Collections.singletonList(file));
+
+			assertThrows(IllegalArgumentException.class,
+					() -> boardImportService.importBoard(new ByteArrayInputStream(toJsonLines(Collections.singletonList(row)))));
+		}
+		assertEquals(0, new JdbcTemplate(dataSource).queryForObject(
+				"SELECT COUNT(*) FROM board WHERE title = 'path-rejected'", Integer.class).intValue());
+	}
+
+	@Test
+	void importRejectsReplyDeeperThanThreadKeyAllows() throws Exception {
+		// 원글에서 MAX_DEPTH단계까지는 thread_key 컬럼에 들어가고, 한 단계 더 내려가면 거부
+		List<BoardImportRow> rows = new ArrayList<>();
+		rows.add(row("d0", null, "depth-limit"));
+		for (int depth = 1; depth <= ThreadKeyUtil.MAX_DEPTH; depth++) {
+			rows.add(row("d" + depth, "d" + (depth - 1), "depth-limit"));
+		}
+		boardImportService.importBoard(new ByteArrayInputStream(toJsonLines(rows)));
+		assertEquals(ThreadKeyUtil.MAX_KEY_LENGTH, new JdbcTemplate(dataSource).queryForObject(
+				"SELECT MAX(LENGTH(thread_key)) FROM board WHERE title = 'depth-limit'", Integer.class).intValue());
+
+		rows.add(row("too-deep", "d" + ThreadKeyUtil.MAX_DEPTH, "depth-rejected"));
+		assertThrows(IllegalArgumentException.class,
+				() -> boardImportService.importBoard(new ByteArrayInputStream(toJsonLines(rows))));
+		assertEquals(0, new JdbcTemplate(dataSource).queryForObject(
+				"SELECT COUNT(*) FROM board WHERE title = 'depth-rejected'", Integer.class).intValue());
+	}
+
+	@Test
+	void importKeepsThreadOrder() throws Exception {
+		// 원글 - 답글1 - 답글1의 답글 - 답글2 순서로 입력하면 최근 답글(답글2)이 원글 바로 아래에 와야 함
+		List<BoardImportRow> rows = Arrays.asList(
+				row("1", null, "root"),
+				row("2", "1", "reply-1"),
+				row("3", "2", "reply-1-1"),
+				row("4", "1", "reply-2"));
+
+		boardImportService.importBoard(new ByteArrayInputStream(toJsonLines(rows)));
+
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		Integer rootSeq = jdbcTemplate.queryForObject("SELECT seq FROM board WHERE title = 'root'", Integer.class);
+		Board root = boardRepo.getBoardView(rootSeq);
+		List<String> thread = jdbcTemplate.queryForList(
+				"SELECT title || ':' || depth FROM board WHERE group_id = ? ORDER BY thread_key", String.class, rootSeq);
+
+		assertEquals(rootSeq.intValue(), root.getGroupId());
+		assertEquals(2, root.getReplyCount());
+		assertEquals(Arrays.asList("root:0", "reply-2:1", "reply-1:1", "reply-1-1:2"), thread);
+	}
+
+	private byte[] createInput(int count) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+			for (int i = 0; i < count; i++) {
+				int root = i - i % 4;
+				BoardImportRow row = i % 4 == 0
+						? row(String.valueOf(i), null, "import " + i)
+						: row(String.valueOf(i), String.valueOf(i % 4 == 3 ? i - 1 : root), "import reply " + i);
+				if (i % 10 == 0) {
+					row.setFiles(Collections.singletonList(file(i)));
+				}
+				writer.write(row);
+			}
+		}
+		return out.toByteArray();
+	}
+
+	private int countImportedFiles(JdbcTemplate jdbcTemplate) {
+		return jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM board_file WHERE upload_path = 'board' AND upload_name LIKE '777%'", Integer.class);
+	}
+
+	private byte[] toJsonLines(List<BoardImportRow> rows) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+			writer.writeAll(rows);
+		}
+		return out.toByteArray();
+	}
+
+	private BoardImportRow row(String sourceId, String parentSourceId, String title) {
+		BoardImportRow row = new BoardImportRow();
+		row.setSourceId(sourceId);
+		row.setParentSourceId(parentSourceId);
+		row.setTitle(title);
+		row.setContent("content of " + title);
+		return row;
+	}
+
+	private BoardFile file(int i) {
+		BoardFile file = new BoardFile();
+		file.setFileName("file" + i + ".txt");
+		file.setFileSize(i);
+		file.setUploadName("777" + i + ".txt");
+		file.setUploadPath("board");
+		return file;
+	}
+}
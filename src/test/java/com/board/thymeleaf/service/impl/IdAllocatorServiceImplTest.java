@@ -0,0 +1,94 @@
+package com.board.thymeleaf.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.board.thymeleaf.domain.IdSequence;
+import com.board.thymeleaf.service.ifc.BoardService;
+import com.board.thymeleaf.service.ifc.IdAllocatorService;
+
+/**
+ * ID 채번 동시성 테스트
+ *
+ * 64개 스레드가 동시에 채번/등록해도 중복 키가 없어야 합니다.
+ */
+@SpringBootTest
+@DirtiesContext
+class IdAllocatorServiceImplTest {
+
+	private static final int WRITERS = 64;
+
+	@Autowired
+	private IdAllocatorService idAllocatorService;
+
+	@Autowired
+	private BoardService boardService;
+
+	@Test
+	void nextIdHasNoDuplicatesUnderParallelWriters() throws Exception {
+		int idsPerWriter = 1000;
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+		runParallel(() -> {
+			for (int i = 0; i < idsPerWriter; i++) {
+				ids.add(idAllocatorService.nextId(IdSequence.BOARD_FILE));
+			}
+			return null;
+		});
+
+		assertEquals(WRITERS * idsPerWriter, ids.size());
+	}
+
+	@Test
+	void insertBoardHasNoDuplicateKeysUnderParallelWriters() throws Exception {
+		int postsPerWriter = 5;
+
+		// 중복 키가 발생하면 PK 위반으로 예외가 전파됨
+		runParallel(() -> {
+			for (int i = 0; i < postsPerWriter; i++) {
+				Map<String, Object> map = new HashMap<>();
+				map.put("title", "동시 등록");
+				map.put("content", "동시 등록 테스트");
+				map.put("display", true);
+				boardService.insertBoard(null, map);
+			}
+			return null;
+		});
+	}
+
+	private void runParallel(Callable<Void> writer) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Void>> futures = new ArrayList<>();
+			for (int i = 0; i < WRITERS; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return writer.call();
+				}));
+			}
+			start.countDown();
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.board.thymeleaf.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.board.thymeleaf.domain.BoardFileThumbnailType;
+import com.board.thymeleaf.storage.BoardFilePackStore.PackWriter;
+
+/**
+ * pack으로 옮긴 blob의 정리 테스트
+ *
+ * 참조가 남아 있으면 개별 파일만 지우고 축소본과 pack은 유지하며,
+ * pack은 가리키는 blob이 하나도 없을 때만 지워야 합니다.
+ * 설정이 달라 컨텍스트가 따로 뜨므로, 캐시된 다른 컨텍스트의 in-memory DB에 schema.sql을 다시 실행하지 않도록 DB도 따로 둡니다.
+ */
+@SpringBootTest(properties = { "board.file.gc.grace-minutes=0", "board.file.gc.delete-rate=0",
+		"thymeleaf.datasource.db-board.jdbc-url=jdbc:h2:mem:${random.uuid}" })
+@DirtiesContext
+class BoardFileGarbageCollectorTest {
+
+	private static final Path UPLOAD_ROOT = createUploadRoot();
+	private static final FileTime OLD = FileTime.fromMillis(System.currentTimeMillis() - 3_600_000L);
+
+	@DynamicPropertySource
+	static void uploadPath(DynamicPropertyRegistry registry) {
+		registry.add("path.upload", UPLOAD_ROOT::toString);
+	}
+
+	@Autowired
+	private BoardFileGarbageCollector garbageCollector;
+
+	@Autowired
+	private BoardFileStorage boardFileStorage;
+
+	@Autowired
+	private BoardFilePackStore boardFilePackStore;
+
+	@Autowired
+	private BoardFileThumbnailer boardFileThumbnailer;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void keepsThumbnailsOfPackedBlobAndDeletesPackOnlyWhenUnreferenced() throws Exception {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		String first = writeBlob("packed blob one");
+		String second = writeBlob("packed blob two");
+		Path thumbnail = boardFileThumbnailer.getThumbnailPath(first, BoardFileThumbnailType.THUMB);
+		Files.write(thumbnail, new byte[] { 1, 2, 3 });
+
+		String packId;
+		try (PackWriter writer = boardFilePackStore.createPack()) {
+			for (String hash : new String[] { first, second }) {
+				long offset = writer.append(boardFileStorage.getBlobPath(hash));
+				jdbcTemplate.update("INSERT INTO file_blob (hash, file_size, ref_count, status, pack_id, pack_offset, pack_length, reg_date, upd_date)"
+						+ " VALUES (?, ?, 1, 'STORED', ?, ?, ?, NOW(), NOW())",
+						hash, writer.size() - offset, writer.getPackId(), offset, writer.size() - offset);
+			}
+			writer.finish();
+			packId = writer.getPackId();
+		}
+		Path pack = boardFilePackStore.getPackPath(packId);
+		age(boardFileStorage.getBlobPath(first), boardFileStorage.getBlobPath(second), thumbnail, pack);
+
+		// 참조 중: pack으로 옮겨진 개별 파일만 삭제
+		garbageCollector.collect();
+		assertFalse(Files.exists(boardFileStorage.getBlobPath(first)));
+		assertFalse(Files.exists(boardFileStorage.getBlobPath(second)));
+		assertTrue(Files.exists(thumbnail));
+		assertTrue(Files.exists(pack));
+
+		// 한 blob만 참조 해제: 다른 blob이 가리키므로 pack 유지
+		jdbcTemplate.update("UPDATE file_blob SET ref_count = 0 WHERE hash = ?", first);
+		garbageCollector.collect();
+		assertFalse(Files.exists(thumbnail));
+		assertTrue(Files.exists(pack));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM file_blob WHERE hash = ?", Integer.class, first).intValue());
+
+		// 모두 참조 해제: pack 삭제
+		jdbcTemplate.update("UPDATE file_blob SET ref_count = 0 WHERE hash = ?", second);
+		garbageCollector.collect();
+		assertFalse(Files.exists(pack));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM file_blob WHERE pack_id = ?", Integer.class, packId).intValue());
+	}
+
+	private String writeBlob(String content) throws IOException {
+		Path source = Files.write(UPLOAD_ROOT.resolve("source.tmp"), content.getBytes(StandardCharsets.UTF_8));
+		String hash = boardFileStorage.hash(source);
+		Path blob = boardFileStorage.getBlobPath(hash);
+		Files.createDirectories(blob.getParent());
+		Files.move(source, blob);
+		return hash;
+	}
+
+	private void age(Path... files) throws IOException {
+		for (Path file : files) {
+			Files.setLastModifiedTime(file, OLD);
+		}
+	}
+
+	private static Path createUploadRoot() {
+		try {
+			return Files.createTempDirectory("board-file-gc");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.board.thymeleaf.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.board.thymeleaf.storage.BoardFilePackStore.PackWriter;
+
+/**
+ * pack 파일 쓰기/읽기 테스트
+ *
+ * 이어 쓴 위치(offset, length)로 다시 읽었을 때 앞뒤 blob과 섞이지 않아야 합니다.
+ */
+class BoardFilePackStoreTest {
+
+	private static final String[] CONTENTS = { "first blob", "", "second", "the third and last blob" };
+
+	@TempDir
+	Path uploadRoot;
+
+	private BoardFilePackStore packStore;
+	private String packId;
+	private final List<long[]> locations = new ArrayList<>();
+
+	@BeforeEach
+	void writePack() throws Exception {
+		packStore = new BoardFilePackStore(null, uploadRoot.toString(), 2);
+		try (PackWriter writer = packStore.createPack()) {
+			for (int i = 0; i < CONTENTS.length; i++) {
+				Path source = Files.write(uploadRoot.resolve("source-" + i), CONTENTS[i].getBytes(StandardCharsets.UTF_8));
+				long offset = writer.append(source);
+				locations.add(new long[] { offset, writer.size() - offset });
+			}
+			writer.finish();
+			packId = writer.getPackId();
+		}
+	}
+
+	@Test
+	void readsBackEachBlobByOffsetAndLength() throws Exception {
+		for (int i = 0; i < CONTENTS.length; i++) {
+			try (BoardFileContent content = packStore.getContent(packId, locations.get(i)[0], locations.get(i)[1])) {
+				assertEquals(CONTENTS[i].length(), content.length());
+				assertNull(content.getFile());
+				assertArrayEquals(CONTENTS[i].getBytes(StandardCharsets.UTF_8), read(content.openStream()));
+			}
+		}
+	}
+
+	@Test
+	void transferToStopsAtSliceBoundary() throws Exception {
+		long[] location = locations.get(2);
+		BoardFileContent content = packStore.getContent(packId, location[0], location[1]);
+
+		assertEquals("second", transfer(content, 0, 100));
+		assertEquals("d", transfer(content, location[1] - 1, 100));
+		assertEquals("eco", transfer(content, 1, 3));
+		assertEquals("", transfer(content, location[1], 10));
+	}
+
+	@Test
+	void openStreamDoesNotReadIntoNextBlob() throws Exception {
+		long[] location = locations.get(0);
+		BoardFileContent content = packStore.getContent(packId, location[0], location[1]);
+
+		try (InputStream in = content.openStream()) {
+			byte[] buffer = new byte[64];
+			assertEquals(CONTENTS[0].length(), in.read(buffer));
+			assertEquals(-1, in.read(buffer));
+			assertEquals(-1, in.read());
+		}
+		// 스트림마다 처음부터 읽음
+		assertArrayEquals(CONTENTS[0].getBytes(StandardCharsets.UTF_8), read(content.openStream()));
+	}
+
+	@Test
+	void rejectsRangeOutsidePack() throws Exception {
+		long size = Files.size(packStore.getPackPath(packId));
+		assertThrows(IllegalStateException.class, () -> packStore.getContent(packId, size - 1, 2));
+	}
+
+	private String transfer(BoardFileContent content, long position, long count) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		content.transferTo(position, count, Channels.newChannel(out));
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private byte[] read(InputStream in) throws Exception {
+		try (InputStream stream = in) {
+			return stream.readAllBytes();
+		}
+	}
+}